@@ -0,0 +1,282 @@
+package com.sporty.aviation_wrapper.client;
+
+import com.sporty.aviation_wrapper.exception.UpstreamLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * AIMD concurrency limit on upstream calls.
+ * A call completing faster than {@code slow-call-threshold} raises the limit by {@code 1/limit}, about one per
+ * round of calls; a call that timed out, failed in transport, was answered 5xx or 429, or was slow multiplies it by
+ * {@code backoff-ratio}, at most once per round, so a burst of calls failing together backs off once. Callers above
+ * the limit wait in a bounded queue without holding a thread, and fail fast with
+ * {@link UpstreamLimitExceededException} when the queue is full or their wait exceeds {@code max-wait}.
+ * Other failures, e.g. 4xx answers, unparseable bodies or calls rejected by the open circuit breaker, say nothing
+ * about upstream load and only give the permit back.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long slowCallNanos;
+    private final int maxQueueSize;
+    private final Duration maxWait;
+    private final Counter queueFullCounter;
+    private final Counter timeoutCounter;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private long lastBackoffNanos = System.nanoTime();
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+            @Value("${aviation.api.concurrency.enabled:true}") boolean enabled,
+            @Value("${aviation.api.concurrency.initial-limit:20}") int initialLimit,
+            @Value("${aviation.api.concurrency.min-limit:2}") int minLimit,
+            @Value("${aviation.api.concurrency.max-limit:200}") int maxLimit,
+            @Value("${aviation.api.concurrency.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${aviation.api.concurrency.slow-call-threshold:2s}") Duration slowCallThreshold,
+            @Value("${aviation.api.concurrency.max-queue-size:100}") int maxQueueSize,
+            @Value("${aviation.api.concurrency.max-wait:500ms}") Duration maxWait) {
+        this.enabled = enabled;
+        this.minLimit = Math.max(minLimit, 1);
+        this.maxLimit = Math.max(maxLimit, this.minLimit);
+        this.limit = Math.min(Math.max(initialLimit, this.minLimit), this.maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.maxQueueSize = maxQueueSize;
+        this.maxWait = maxWait;
+        Gauge.builder("aviation_api_concurrency_limit", this, AdaptiveConcurrencyLimiter::currentLimit)
+                .description("Current adaptive limit of concurrent upstream calls")
+                .register(meterRegistry);
+        Gauge.builder("aviation_api_in_flight", this, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Upstream calls currently holding a concurrency permit")
+                .register(meterRegistry);
+        Gauge.builder("aviation_api_limiter_queue_size", this, AdaptiveConcurrencyLimiter::queued)
+                .description("Upstream calls waiting for a concurrency permit")
+                .register(meterRegistry);
+        this.queueFullCounter = rejectedCounter("queue_full", meterRegistry);
+        this.timeoutCounter = rejectedCounter("timeout", meterRegistry);
+    }
+
+    /**
+     * Subscribes to the call once a permit is available and returns the permit when it terminates
+     */
+    public <T> Mono<T> limit(Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return acquire().flatMap(permit -> release(call, permit));
+    }
+
+    /**
+     * Subscribes to the call under a permit only if one is free right away and nobody is queued for one,
+     * otherwise subscribes to the fallback without a permit
+     */
+    public <T> Mono<T> limitIfFree(Mono<T> call, Supplier<Mono<T>> fallback) {
+        if (!enabled) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            Permit permit = tryAcquire();
+            if (permit == null) {
+                return fallback.get();
+            }
+            return release(call, permit);
+        });
+    }
+
+    public int currentLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int queued() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the permit when the call terminates, the outcome deciding how the limit adapts
+     */
+    private <T> Mono<T> release(Mono<T> call, Permit permit) {
+        return call.doOnSuccess(ignored -> release(permit, Outcome.SUCCESS))
+                .doOnError(error -> release(permit, isOverload(error) ? Outcome.DROPPED : Outcome.IGNORED))
+                .doOnCancel(() -> release(permit, Outcome.IGNORED));
+    }
+
+    /**
+     * Takes a permit if one is free and nobody is queued for one, {@code null} otherwise
+     */
+    private Permit tryAcquire() {
+        lock.lock();
+        try {
+            if (queue.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                return new Permit(System.nanoTime());
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.defer(() -> {
+            Waiter waiter;
+            lock.lock();
+            try {
+                if (queue.isEmpty() && inFlight < (int) limit) {
+                    inFlight++;
+                    return Mono.just(new Permit(System.nanoTime()));
+                }
+                if (queue.size() >= maxQueueSize) {
+                    queueFullCounter.increment();
+                    return Mono.error(new UpstreamLimitExceededException(
+                            "Too many concurrent upstream calls, waiting queue is full"));
+                }
+                waiter = new Waiter();
+                queue.addLast(waiter);
+            } finally {
+                lock.unlock();
+            }
+            return waiter.sink.asMono()
+                    .timeout(maxWait, Mono.defer(() -> {
+                        abandon(waiter);
+                        timeoutCounter.increment();
+                        return Mono.error(new UpstreamLimitExceededException(
+                                "Timed out after " + maxWait.toMillis() + " ms waiting for an upstream call permit"));
+                    }))
+                    .doOnCancel(() -> abandon(waiter));
+        });
+    }
+
+    /**
+     * Removes a waiter that timed out or was cancelled, or gives back the permit it was granted meanwhile
+     */
+    private void abandon(Waiter waiter) {
+        lock.lock();
+        boolean removed;
+        try {
+            removed = queue.remove(waiter);
+        } finally {
+            lock.unlock();
+        }
+        if (!removed && waiter.permit != null) {
+            release(waiter.permit, Outcome.IGNORED);
+        }
+    }
+
+    private void release(Permit permit, Outcome outcome) {
+        if (!permit.released.compareAndSet(false, true)) {
+            return;
+        }
+        long now = System.nanoTime();
+        List<Waiter> granted = new ArrayList<>();
+        lock.lock();
+        try {
+            inFlight--;
+            boolean slow = now - permit.startNanos > slowCallNanos;
+            if (outcome == Outcome.DROPPED || (outcome == Outcome.SUCCESS && slow)) {
+                // Only calls started after the last backoff may lower the limit again
+                if (permit.startNanos - lastBackoffNanos >= 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastBackoffNanos = now;
+                }
+            } else if (outcome == Outcome.SUCCESS) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            while (!queue.isEmpty() && inFlight < (int) limit) {
+                Waiter waiter = queue.pollFirst();
+                inFlight++;
+                waiter.permit = new Permit(now);
+                granted.add(waiter);
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Emitted outside the lock, the granted callers start their upstream call on this thread
+        for (Waiter waiter : granted) {
+            waiter.sink.tryEmitValue(waiter.permit);
+        }
+    }
+
+    /**
+     * Failures that signal an overloaded or unreachable upstream
+     */
+    private static boolean isOverload(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError()
+                    || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return error instanceof WebClientRequestException
+                || error instanceof TimeoutException
+                || error instanceof IOException
+                || error instanceof UncheckedIOException;
+    }
+
+    private static Counter rejectedCounter(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("aviation_api_limiter_rejected_total")
+                .description("Upstream calls rejected by the concurrency limiter")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private enum Outcome {
+        SUCCESS, DROPPED, IGNORED
+    }
+
+    private static final class Permit {
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+
+    private static final class Waiter {
+        private final Sinks.One<Permit> sink = Sinks.one();
+        private volatile Permit permit;
+    }
+}
@@ -0,0 +1,152 @@
+package com.sporty.aviation_wrapper.client;
+
+import com.sporty.aviation_wrapper.dto.AviationApiResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects single-airport fetches that arrive close together and sends them upstream as one
+ * comma-separated {@code apt} request. A batch is flushed when the collection window elapses or
+ * when it reaches the maximum batch size, each caller then receives its own slice of the response.
+ */
+@Component
+public class AviationApiBatchCollector implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AviationApiBatchCollector.class);
+
+    private final ReactiveAviationApiClient aviationApiClient;
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService flushTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer batchWaitTimer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<String, PendingFetch> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public AviationApiBatchCollector(ReactiveAviationApiClient aviationApiClient,
+            MeterRegistry meterRegistry,
+            @Value("${aviation.api.micro-batch.enabled:false}") boolean enabled,
+            @Value("${aviation.api.micro-batch.window:5ms}") Duration window,
+            @Value("${aviation.api.micro-batch.max-size:50}") int maxBatchSize) {
+        this.aviationApiClient = aviationApiClient;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.flushTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "aviation-batch-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchSizeSummary = DistributionSummary.builder("aviation_api_batch_size")
+                .description("Number of ICAO codes sent in one micro-batched upstream call")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchWaitTimer = Timer.builder("aviation_api_batch_wait")
+                .description("Time a fetch waited in the collector before its batch was sent upstream")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Fetches one airport, sharing the upstream call with other fetches collected in the same window.
+     * Completes with {@code null} when the code is unknown upstream.
+     */
+    public CompletableFuture<AviationApiResponse> fetch(String icaoCode) {
+        if (!enabled) {
+            return aviationApiClient.getAirportsByIcao(icaoCode).toFuture();
+        }
+
+        Map<String, PendingFetch> batch = null;
+        PendingFetch fetch;
+        lock.lock();
+        try {
+            fetch = pending.get(icaoCode);
+            if (fetch != null) {
+                return fetch.result().copy();
+            }
+            fetch = new PendingFetch(new CompletableFuture<>(), System.nanoTime());
+            pending.put(icaoCode, fetch);
+            if (pending.size() >= maxBatchSize) {
+                batch = drainPending();
+            } else if (pending.size() == 1) {
+                scheduledFlush = flushTimer.schedule(this::flushPending, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (batch != null) {
+            dispatch(batch);
+        }
+        return fetch.result();
+    }
+
+    private void flushPending() {
+        Map<String, PendingFetch> batch;
+        lock.lock();
+        try {
+            batch = drainPending();
+        } finally {
+            lock.unlock();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private Map<String, PendingFetch> drainPending() {
+        Map<String, PendingFetch> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<String, PendingFetch> batch) {
+        long dispatchedAt = System.nanoTime();
+        batchSizeSummary.record(batch.size());
+        batch.values().forEach(fetch -> batchWaitTimer.record(dispatchedAt - fetch.enqueuedAt(), TimeUnit.NANOSECONDS));
+
+        log.debug("Sending micro-batch of {} ICAO codes upstream", batch.size());
+        aviationApiClient.getAirportsByIcaoCodes(List.copyOf(batch.keySet()))
+                .toFuture()
+                .whenComplete((airports, error) -> batch.forEach((icaoCode, fetch) -> {
+                    if (error != null) {
+                        fetch.result().completeExceptionally(error);
+                    } else {
+                        fetch.result().complete(airports.get(icaoCode));
+                    }
+                }));
+    }
+
+    @Override
+    public void destroy() {
+        flushTimer.shutdownNow();
+        flushPending();
+    }
+
+    private record PendingFetch(CompletableFuture<AviationApiResponse> result, long enqueuedAt) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.sporty.aviation_wrapper.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sporty.aviation_wrapper.dto.AviationApiResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming parser for Aviation API responses of the form {@code {"KBAB": [{...}], "KJFK": [{...}]}}.
+ * Reads the body token by token and binds only the first element of each requested array,
+ * without materializing the body as a string or a tree.
+ */
+public final class AviationApiResponseParser {
+
+    static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    private static final ObjectReader AIRPORT_READER = OBJECT_MAPPER.readerFor(AviationApiResponse.class);
+
+    private AviationApiResponseParser() {
+    }
+
+    /**
+     * Returns the first airport listed under the ICAO code, or {@code null} when the code
+     * is missing from the response or its array is empty
+     */
+    public static AviationApiResponse parseAirport(InputStream body, String icaoCode) throws IOException {
+        try (JsonParser parser = OBJECT_MAPPER.createParser(body)) {
+            expectObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_ARRAY && icaoCode.equalsIgnoreCase(fieldName)) {
+                    return readFirstElement(parser);
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns the first airport of every non-empty array in the response, keyed by upper-cased ICAO code
+     */
+    public static Map<String, AviationApiResponse> parseAirports(InputStream body) throws IOException {
+        Map<String, AviationApiResponse> airports = new LinkedHashMap<>();
+        try (JsonParser parser = OBJECT_MAPPER.createParser(body)) {
+            expectObject(parser);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                AviationApiResponse airport = readFirstElement(parser);
+                if (airport != null) {
+                    airports.put(fieldName.toUpperCase(Locale.ROOT), airport);
+                }
+                skipToArrayEnd(parser);
+            }
+        }
+        return airports;
+    }
+
+    /**
+     * Parses a response body, called by {@link ReactiveAviationApiClient} on the upstream scheduler
+     */
+    @FunctionalInterface
+    interface BodyParser<T> {
+        T parse(InputStream body) throws IOException;
+    }
+
+    private static void expectObject(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a JSON object keyed by ICAO code");
+        }
+    }
+
+    /**
+     * Binds the first element, or returns {@code null} with the parser on the array end when the array is empty.
+     * Elements other than objects are rejected, skipping a nested array would leave the parser on its end
+     * and make it indistinguishable from the end of the enclosing array.
+     */
+    private static AviationApiResponse readFirstElement(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            return AIRPORT_READER.readValue(parser);
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new JsonParseException(parser, "Expected airport objects in the array for an ICAO code");
+        }
+        return null;
+    }
+
+    private static void skipToArrayEnd(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.END_ARRAY) {
+            return;
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new JsonParseException(parser, "Unexpected end of input inside array");
+            }
+            parser.skipChildren();
+        }
+    }
+}
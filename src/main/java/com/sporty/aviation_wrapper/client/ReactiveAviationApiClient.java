@@ -0,0 +1,173 @@
+package com.sporty.aviation_wrapper.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.sporty.aviation_wrapper.config.StageTimer;
+import com.sporty.aviation_wrapper.dto.AviationApiResponse;
+import com.sporty.aviation_wrapper.exception.AviationServiceException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking client for the Aviation API.
+ * Circuit breaker and retry are applied reactively, so no thread is held while waiting
+ * for the upstream or for a retry backoff. Responses are parsed on the upstream scheduler,
+ * see {@link com.sporty.aviation_wrapper.config.ExecutionConfig}.
+ * Every attempt, every call across its retries and every body parse is timed by outcome.
+ * Attempts go through the {@link AdaptiveConcurrencyLimiter}, which waits for a permit without holding a thread.
+ * Once the permit is granted an attempt may be hedged by the {@link RequestHedger} when slower than recent
+ * attempts, so time spent waiting for the permit neither counts towards the hedge delay nor triggers a hedge.
+ * The hedge takes a permit of its own.
+ */
+@Component
+public class ReactiveAviationApiClient {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveAviationApiClient.class);
+    private static final String CIRCUIT_BREAKER_NAME = "aviation-api";
+    private static final String RETRY_NAME = "aviation-api";
+
+    private final WebClient webClient;
+    private final String baseUrl;
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+    private final Scheduler upstreamScheduler;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final RequestHedger requestHedger;
+    private final StageTimer attemptTimer;
+    private final StageTimer callTimer;
+    private final StageTimer parseTimer;
+
+    public ReactiveAviationApiClient(WebClient upstreamWebClient,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            RetryRegistry retryRegistry,
+            Scheduler upstreamScheduler,
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
+            RequestHedger requestHedger,
+            MeterRegistry meterRegistry,
+            @Value("${aviation.api.base-url:https://api.aviationapi.com}") String baseUrl) {
+        this.webClient = upstreamWebClient;
+        this.upstreamScheduler = upstreamScheduler;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.requestHedger = requestHedger;
+        this.baseUrl = baseUrl;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME);
+        this.retry = retryRegistry.retry(RETRY_NAME);
+        this.attemptTimer = new StageTimer("airport_upstream_attempt", "Single upstream call attempt, parse included",
+                meterRegistry, StageTimer.SUCCESS, StageTimer.ERROR, StageTimer.CIRCUIT_OPEN);
+        this.callTimer = new StageTimer("airport_upstream_call", "Upstream call across all its retry attempts",
+                meterRegistry, StageTimer.SUCCESS, StageTimer.ERROR, StageTimer.CIRCUIT_OPEN, StageTimer.REJECTED);
+        this.parseTimer = new StageTimer("airport_upstream_parse", "Parsing of an upstream response body",
+                meterRegistry, StageTimer.SUCCESS, StageTimer.ERROR);
+    }
+
+    /**
+     * Fetches one airport, completes empty when upstream has no data for the code
+     */
+    public Mono<AviationApiResponse> getAirportsByIcao(String icaoCode) {
+        return fetch(icaoCode, body -> AviationApiResponseParser.parseAirport(body, icaoCode));
+    }
+
+    /**
+     * Fetches several airports with a single upstream call, codes unknown upstream are absent from the result
+     */
+    public Mono<Map<String, AviationApiResponse>> getAirportsByIcaoCodes(Collection<String> icaoCodes) {
+        return fetch(String.join(",", icaoCodes), AviationApiResponseParser::parseAirports)
+                .defaultIfEmpty(Map.of());
+    }
+
+    private <T> Mono<T> fetch(String apt, AviationApiResponseParser.BodyParser<T> parser) {
+        return Mono.defer(() -> {
+                    log.debug("Fetching airport data for apt={}", apt);
+                    return webClient.get()
+                            .uri(airportsUrl(apt))
+                            .accept(MediaType.APPLICATION_JSON)
+                            .retrieve()
+                            .bodyToFlux(DataBuffer.class)
+                            .as(DataBufferUtils::join);
+                })
+                .publishOn(upstreamScheduler)
+                .<T>handle((buffer, sink) -> {
+                    T parsed = parse(buffer, parser);
+                    if (parsed != null) {
+                        sink.next(parsed);
+                    }
+                })
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transform(attempt -> timed(attempt, attemptTimer))
+                .transform(requestHedger::hedge)
+                .transform(concurrencyLimiter::limit)
+                .transformDeferred(RetryOperator.of(retry))
+                .transform(call -> timed(call, callTimer))
+                .doOnError(ex -> log.warn("Aviation API call failed for apt={}. Reason: {}", apt, ex.getMessage()))
+                .onErrorMap(ReactiveAviationApiClient::isUnavailable, ex -> new AviationServiceException(
+                        "Aviation service temporarily unavailable. Please try again later.", ex));
+    }
+
+    /**
+     * Transport failures and calls refused by the open circuit breaker, our own exceptions are passed through
+     */
+    private static boolean isUnavailable(Throwable error) {
+        return error instanceof WebClientException
+                || error instanceof IOException
+                || error instanceof UncheckedIOException
+                || error instanceof TimeoutException
+                || error instanceof CallNotPermittedException;
+    }
+
+    private String airportsUrl(String apt) {
+        return UriComponentsBuilder.fromUriString(baseUrl)
+                .path("/v1/airports")
+                .queryParam("apt", apt)
+                .build().toUriString();
+    }
+
+    private <T> T parse(DataBuffer buffer, AviationApiResponseParser.BodyParser<T> parser) {
+        long start = System.nanoTime();
+        try (InputStream body = buffer.asInputStream(true)) {
+            T parsed = parser.parse(body);
+            parseTimer.record(StageTimer.SUCCESS, start);
+            return parsed;
+        } catch (JsonProcessingException e) {
+            parseTimer.record(StageTimer.ERROR, start);
+            throw new AviationServiceException("Invalid response received from Aviation API", e);
+        } catch (IOException e) {
+            parseTimer.record(StageTimer.ERROR, start);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Times every subscription, so each retry re-subscribing below the retry operator is timed on its own
+     */
+    private static <T> Mono<T> timed(Mono<T> call, StageTimer timer) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnSuccess(ignored -> timer.record(StageTimer.SUCCESS, start))
+                    .doOnError(error -> timer.record(StageTimer.outcomeOf(error), start));
+        });
+    }
+}
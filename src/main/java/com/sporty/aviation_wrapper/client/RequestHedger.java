@@ -0,0 +1,187 @@
+package com.sporty.aviation_wrapper.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hedged upstream attempts.
+ * When an attempt has not answered within the {@code percentile} of recent attempt latencies, a second identical
+ * attempt is sent and whichever answers first wins, the other one being cancelled. The delay is clamped between
+ * {@code min-delay} and {@code max-delay}, and stays at {@code max-delay} until enough latencies were observed.
+ * Hedges spend a budget earning {@code budget-percent}/100 of a hedge per attempt, so they add at most that share
+ * of extra upstream load. A failed hedge is ignored, the first attempt then decides the outcome.
+ * A hedge holds its own {@link AdaptiveConcurrencyLimiter} permit and is skipped when none is free right away,
+ * so it never queues behind first attempts and the limiter sees every call in flight. Both attempts feed their
+ * latency to the percentile window.
+ */
+@Component
+public class RequestHedger {
+
+    private static final int MIN_SAMPLES = 20;
+    private static final double MAX_BUDGET = 10;
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final double budgetPerAttempt;
+    private final Counter firedCounter;
+    private final Counter wonCounter;
+    private final Counter budgetSkippedCounter;
+    private final Counter permitSkippedCounter;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] samples;
+    private final int recomputeEvery;
+    private int sampleCount;
+    private int nextSample;
+    private int samplesSinceRecompute;
+    private double budget;
+    private volatile long delayNanos;
+
+    public RequestHedger(MeterRegistry meterRegistry,
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
+            @Value("${aviation.api.hedging.enabled:false}") boolean enabled,
+            @Value("${aviation.api.hedging.percentile:95}") double percentile,
+            @Value("${aviation.api.hedging.min-delay:20ms}") Duration minDelay,
+            @Value("${aviation.api.hedging.max-delay:1s}") Duration maxDelay,
+            @Value("${aviation.api.hedging.budget-percent:10}") double budgetPercent,
+            @Value("${aviation.api.hedging.window-size:1000}") int windowSize) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.enabled = enabled;
+        this.percentile = Math.min(Math.max(percentile, 1), 100);
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = Math.max(maxDelay.toNanos(), minDelayNanos);
+        this.budgetPerAttempt = Math.max(budgetPercent, 0) / 100;
+        this.samples = new long[Math.max(windowSize, MIN_SAMPLES)];
+        this.recomputeEvery = Math.max(samples.length / 10, 1);
+        this.delayNanos = maxDelayNanos;
+        TimeGauge.builder("aviation_api_hedge_delay", this, TimeUnit.NANOSECONDS, hedger -> hedger.delayNanos)
+                .description("Current delay before an upstream attempt is hedged")
+                .register(meterRegistry);
+        this.firedCounter = Counter.builder("aviation_api_hedges_fired_total")
+                .description("Hedged upstream attempts sent")
+                .register(meterRegistry);
+        this.wonCounter = Counter.builder("aviation_api_hedges_won_total")
+                .description("Hedged upstream attempts that answered before the first attempt")
+                .register(meterRegistry);
+        this.budgetSkippedCounter = skippedCounter("budget", meterRegistry);
+        this.permitSkippedCounter = skippedCounter("no_permit", meterRegistry);
+    }
+
+    /**
+     * Subscribes to the attempt, and once more if the first subscription is slower than the hedge delay.
+     * The attempt must be cold, each subscription sending its own upstream call.
+     */
+    public <T> Mono<T> hedge(Mono<T> attempt) {
+        if (!enabled) {
+            return attempt;
+        }
+        return Mono.defer(() -> {
+            earnBudget();
+            Mono<T> hedged = Mono.delay(Duration.ofNanos(delayNanos))
+                    .flatMap(tick -> {
+                        if (!spendBudget()) {
+                            budgetSkippedCounter.increment();
+                            return Mono.never();
+                        }
+                        Mono<T> hedge = timed(attempt).doOnSubscribe(ignored -> firedCounter.increment())
+                                .doOnSuccess(ignored -> wonCounter.increment())
+                                .onErrorResume(error -> Mono.never());
+                        return concurrencyLimiter.limitIfFree(hedge, () -> {
+                            refundBudget();
+                            permitSkippedCounter.increment();
+                            return Mono.never();
+                        });
+                    });
+            return Mono.firstWithSignal(timed(attempt), hedged);
+        });
+    }
+
+    public Duration currentDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    private void earnBudget() {
+        lock.lock();
+        try {
+            budget = Math.min(MAX_BUDGET, budget + budgetPerAttempt);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the latency of each subscription to the attempt
+     */
+    private <T> Mono<T> timed(Mono<T> attempt) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return attempt.doOnSuccess(ignored -> recordLatency(System.nanoTime() - start))
+                    // A cancelled attempt took at least this long, which is all the percentile needs
+                    .doOnCancel(() -> recordLatency(System.nanoTime() - start));
+        });
+    }
+
+    private void refundBudget() {
+        lock.lock();
+        try {
+            budget = Math.min(MAX_BUDGET, budget + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean spendBudget() {
+        lock.lock();
+        try {
+            if (budget < 1) {
+                return false;
+            }
+            budget--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        long[] window = null;
+        lock.lock();
+        try {
+            samples[nextSample] = nanos;
+            nextSample = (nextSample + 1) % samples.length;
+            sampleCount = Math.min(sampleCount + 1, samples.length);
+            samplesSinceRecompute++;
+            if (sampleCount == MIN_SAMPLES || (sampleCount > MIN_SAMPLES && samplesSinceRecompute >= recomputeEvery)) {
+                samplesSinceRecompute = 0;
+                window = Arrays.copyOf(samples, sampleCount);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (window != null) {
+            // Sorted outside the lock, concurrent recomputations may land in either order
+            Arrays.sort(window);
+            int index = (int) Math.ceil(percentile / 100 * window.length) - 1;
+            delayNanos = Math.min(Math.max(window[Math.max(index, 0)], minDelayNanos), maxDelayNanos);
+        }
+    }
+
+    private static Counter skippedCounter(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("aviation_api_hedges_skipped_total")
+                .description("Hedges not sent because the hedge budget was exhausted or no concurrency permit was free")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,54 @@
+package com.sporty.aviation_wrapper.client;
+
+import com.sporty.aviation_wrapper.config.UpstreamHttpProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Opens pooled connections to the upstream once the application is ready,
+ * so the first requests do not pay the TCP and TLS handshake
+ */
+@Component
+public class UpstreamConnectionWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamConnectionWarmer.class);
+
+    private final WebClient upstreamWebClient;
+    private final String baseUrl;
+    private final int warmupConnections;
+
+    public UpstreamConnectionWarmer(WebClient upstreamWebClient,
+            UpstreamHttpProperties properties,
+            @Value("${aviation.api.base-url:https://api.aviationapi.com}") String baseUrl) {
+        this.upstreamWebClient = upstreamWebClient;
+        this.baseUrl = baseUrl;
+        this.warmupConnections = properties.warmupConnections();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmupConnections <= 0) {
+            return;
+        }
+
+        // Concurrent requests force the pool to open one connection each
+        Flux.range(0, warmupConnections)
+                .flatMap(i -> upstreamWebClient.head()
+                        .uri(baseUrl)
+                        .exchangeToMono(response -> response.releaseBody().thenReturn(1))
+                        .onErrorResume(e -> {
+                            log.debug("Upstream connection warm-up request failed: {}", e.getMessage());
+                            return Mono.just(0);
+                        }))
+                .reduce(0, Integer::sum)
+                .subscribe(opened -> log.info("Pre-warmed {}/{} upstream connections to {}",
+                        opened, warmupConnections, baseUrl));
+    }
+}
@@ -1,13 +1,50 @@
 package com.sporty.aviation_wrapper.config;
 
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
 
 @Configuration
+@EnableConfigurationProperties(UpstreamHttpProperties.class)
     public class AppConfig {
+
+        private static final String UPSTREAM_POOL_NAME = "aviation-api";
+
+        @Bean(destroyMethod = "dispose")
+        public ConnectionProvider upstreamConnectionProvider(UpstreamHttpProperties properties) {
+            // Reactor Netty keeps one pool per remote host and has no limit across hosts, so the per-route limit
+            // is the pool size. With metrics on, the time spent waiting for a connection is the
+            // reactor.netty.connection.provider.pending.connections.time timer.
+            return ConnectionProvider.builder(UPSTREAM_POOL_NAME)
+                    .maxConnections(properties.maxConnectionsPerRoute())
+                    .pendingAcquireMaxCount(properties.pendingAcquireMaxCount())
+                    .pendingAcquireTimeout(properties.connectionRequestTimeout())
+                    .maxIdleTime(properties.idleTimeout())
+                    .maxLifeTime(properties.timeToLive())
+                    .evictInBackground(properties.idleTimeout())
+                    .metrics(true)
+                    .build();
+        }
+
         @Bean
-        public RestTemplate restTemplate() {
-            return new RestTemplate();
+        public WebClient upstreamWebClient(WebClient.Builder webClientBuilder, ConnectionProvider upstreamConnectionProvider,
+                UpstreamHttpProperties properties) {
+            HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+                    .option(ChannelOption.SO_KEEPALIVE, true)
+                    .responseTimeout(properties.responseTimeout())
+                    .doOnConnected(connection -> connection.addHandlerLast(
+                            new ReadTimeoutHandler(properties.readTimeout().toMillis(), TimeUnit.MILLISECONDS)));
+            return webClientBuilder
+                    .clientConnector(new ReactorClientHttpConnector(httpClient))
+                    .build();
         }
-    }
\ No newline at end of file
+    }
@@ -0,0 +1,18 @@
+package com.sporty.aviation_wrapper.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Cache configuration properties bound from {@code aviation.cache.*}
+ *
+ * @param specs Caffeine specifications keyed by cache name, e.g. {@code airports: maximumSize=1000,expireAfterWrite=15m}
+ */
+@ConfigurationProperties(prefix = "aviation.cache")
+public record AviationCacheProperties(Map<String, String> specs) {
+
+    public AviationCacheProperties {
+        specs = specs == null ? Map.of() : Map.copyOf(specs);
+    }
+}
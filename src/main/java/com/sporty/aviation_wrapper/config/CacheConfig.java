@@ -0,0 +1,112 @@
+package com.sporty.aviation_wrapper.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import com.sporty.aviation_wrapper.service.AirportDatasetIndex;
+import com.sporty.aviation_wrapper.service.AirportIndexes;
+import com.sporty.aviation_wrapper.service.CompactAirport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine cache configuration.
+ * Every cache listed under {@code aviation.cache.specs} gets its own bounded Caffeine instance, so
+ * each cache can have its own size/weight limit, expiry and statistics. Caches built with
+ * {@code recordStats} are bound to the meter registry by Spring Boot ({@code cache_gets}, {@code cache_evictions}, ...).
+ * Airports evicted from the {@code airports} cache leave the {@link AirportIndexes} with it.
+ */
+@Configuration
+@EnableConfigurationProperties(AviationCacheProperties.class)
+public class CacheConfig {
+
+    public static final String AIRPORTS_CACHE = "airports";
+    public static final String AIRPORTS_NOT_FOUND_CACHE = "airports-not-found";
+
+    private static final Logger log = LoggerFactory.getLogger(CacheConfig.class);
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> perCacheSpecCustomizer(AviationCacheProperties properties,
+            AirportIndexes indexes, AirportDatasetIndex datasetIndex) {
+        return cacheManager -> properties.specs().forEach((name, spec) -> {
+            log.info("Registering cache '{}' with spec: {}", name, spec);
+            cacheManager.registerCustomCache(name, AIRPORTS_CACHE.equals(name)
+                    ? buildCache(spec, indexEvictionListener(indexes, datasetIndex))
+                    : buildCache(spec));
+        });
+    }
+
+    static Cache<Object, Object> buildCache(String spec) {
+        return buildCache(spec, null);
+    }
+
+    /**
+     * Builds a cache from its spec, an eviction listener is notified of entries evicted by size or expiry;
+     * such caches expire entries on a scheduler instead of waiting for the next cache operation
+     */
+    static Cache<Object, Object> buildCache(String spec, RemovalListener<Object, Object> evictionListener) {
+        Caffeine<Object, Object> builder = Caffeine.from(spec);
+        if (evictionListener != null) {
+            builder = builder.evictionListener(evictionListener).scheduler(Scheduler.systemScheduler());
+        }
+        if (spec.contains("maximumWeight")) {
+            return builder.weigher(new EntryWeigher()).build();
+        }
+        return builder.build();
+    }
+
+    /**
+     * Drops airports the cache evicted or expired from the indexes, unless the local dataset serves them
+     */
+    static RemovalListener<Object, Object> indexEvictionListener(AirportIndexes indexes,
+            AirportDatasetIndex datasetIndex) {
+        return (key, value, cause) -> {
+            if (key instanceof Integer packedKey && value instanceof CompactAirport airport
+                    && datasetIndex.getEntry(packedKey) == null) {
+                indexes.remove(airport);
+            }
+        };
+    }
+
+    /**
+     * Approximates the retained size of a cache entry in bytes, used when a spec sets {@code maximumWeight}
+     */
+    static class EntryWeigher implements Weigher<Object, Object> {
+
+        private static final int OBJECT_OVERHEAD = 16;
+        private static final int STRING_OVERHEAD = 40;
+
+        @Override
+        public int weigh(Object key, Object value) {
+            int weight = sizeOf(key);
+            if (value instanceof AirportDto airport) {
+                weight += OBJECT_OVERHEAD + 12 * Integer.BYTES
+                        + sizeOf(airport.icao()) + sizeOf(airport.iata()) + sizeOf(airport.facility_name())
+                        + sizeOf(airport.region()) + sizeOf(airport.district_office()) + sizeOf(airport.state())
+                        + sizeOf(airport.state_full()) + sizeOf(airport.city()) + sizeOf(airport.county())
+                        + sizeOf(airport.latitude()) + sizeOf(airport.longitude())
+                        + (airport.elevation() == null ? 0 : OBJECT_OVERHEAD);
+            } else if (value instanceof CompactAirport airport) {
+                weight += airport.retainedSize(OBJECT_OVERHEAD, STRING_OVERHEAD);
+            } else {
+                weight += OBJECT_OVERHEAD;
+            }
+            return weight;
+        }
+
+        private static int sizeOf(Object value) {
+            if (value == null) {
+                return 0;
+            }
+            return value instanceof String string ? STRING_OVERHEAD + string.length() : OBJECT_OVERHEAD;
+        }
+    }
+}
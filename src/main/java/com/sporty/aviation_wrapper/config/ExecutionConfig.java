@@ -0,0 +1,35 @@
+package com.sporty.aviation_wrapper.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Thread model for work that follows an upstream response (parsing, cache writes, response mapping).
+ * With {@code spring.threads.virtual.enabled=true} on Java 21, Tomcat and the Spring task executors run on
+ * virtual threads and this work is handed off the Netty event loop to a virtual thread per response.
+ * With platform threads it stays on the event loop that received the response, as before.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    private static final String UPSTREAM_THREAD_PREFIX = "aviation-upstream-";
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Scheduler virtualUpstreamScheduler() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(UPSTREAM_THREAD_PREFIX);
+        executor.setVirtualThreads(true);
+        return Schedulers.fromExecutor(executor);
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Scheduler platformUpstreamScheduler() {
+        return Schedulers.immediate();
+    }
+}
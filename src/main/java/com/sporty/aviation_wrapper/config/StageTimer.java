@@ -0,0 +1,67 @@
+package com.sporty.aviation_wrapper.config;
+
+import com.sporty.aviation_wrapper.exception.AirportNotFoundException;
+import com.sporty.aviation_wrapper.exception.UpstreamLimitExceededException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one stage of serving an airport, tagged by outcome.
+ * One timer per outcome is registered up front, so recording does not look meters up. Timers publish
+ * percentile histograms; SLO buckets are set per stage under {@code management.metrics.distribution.slo}.
+ */
+public final class StageTimer {
+
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+    public static final String NOT_FOUND = "not_found";
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+    public static final String CIRCUIT_OPEN = "circuit_open";
+    public static final String REJECTED = "rejected";
+
+    private final Map<String, Timer> timers = new HashMap<>();
+
+    public StageTimer(String name, String description, MeterRegistry meterRegistry, String... outcomes) {
+        for (String outcome : outcomes) {
+            timers.put(outcome, Timer.builder(name)
+                    .description(description)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos}, taken from {@link System#nanoTime()}
+     */
+    public void record(String outcome, long startNanos) {
+        Timer timer = timers.get(outcome);
+        if (timer != null) {
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Maps a failure, possibly wrapped by futures or the upstream client, to its outcome tag
+     */
+    public static String outcomeOf(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AirportNotFoundException) {
+                return NOT_FOUND;
+            }
+            if (cause instanceof CallNotPermittedException) {
+                return CIRCUIT_OPEN;
+            }
+            if (cause instanceof UpstreamLimitExceededException) {
+                return REJECTED;
+            }
+        }
+        return ERROR;
+    }
+}
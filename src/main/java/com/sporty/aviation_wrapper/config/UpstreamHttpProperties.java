@@ -0,0 +1,33 @@
+package com.sporty.aviation_wrapper.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * HTTP transport configuration for upstream calls bound from {@code aviation.api.http.*}
+ *
+ * @param maxConnectionsPerRoute   maximum pooled connections to the upstream host
+ * @param connectTimeout           TCP/TLS connect timeout
+ * @param readTimeout              socket read timeout between packets
+ * @param responseTimeout          maximum wait for the response of a request
+ * @param connectionRequestTimeout maximum wait to lease a connection from the pool
+ * @param pendingAcquireMaxCount   maximum requests waiting for a pooled connection, further ones fail at once
+ * @param idleTimeout              idle connections older than this are evicted from the pool
+ * @param timeToLive               pooled connections are closed after this age
+ * @param warmupConnections        connections opened to the upstream at startup, 0 disables pre-warming
+ */
+@ConfigurationProperties(prefix = "aviation.api.http")
+public record UpstreamHttpProperties(
+        @DefaultValue("20") int maxConnectionsPerRoute,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("5s") Duration readTimeout,
+        @DefaultValue("5s") Duration responseTimeout,
+        @DefaultValue("2s") Duration connectionRequestTimeout,
+        @DefaultValue("40") int pendingAcquireMaxCount,
+        @DefaultValue("30s") Duration idleTimeout,
+        @DefaultValue("5m") Duration timeToLive,
+        @DefaultValue("0") int warmupConnections
+) {
+}
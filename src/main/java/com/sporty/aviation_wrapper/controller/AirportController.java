@@ -1,9 +1,17 @@
 package com.sporty.aviation_wrapper.controller;
 
+import com.sporty.aviation_wrapper.dto.AirportBatchRequest;
+import com.sporty.aviation_wrapper.dto.AirportBatchResponse;
 import com.sporty.aviation_wrapper.dto.AirportDto;
+import com.sporty.aviation_wrapper.dto.AirportPage;
 import com.sporty.aviation_wrapper.dto.ErrorResponse;
+import com.sporty.aviation_wrapper.dto.NearbyAirport;
 import com.sporty.aviation_wrapper.exception.UpstreamServiceException;
+import com.sporty.aviation_wrapper.service.AirportExporter;
+import com.sporty.aviation_wrapper.service.AirportSerializer;
 import com.sporty.aviation_wrapper.service.AirportService;
+import com.sporty.aviation_wrapper.service.CompactAirport;
+import com.sporty.aviation_wrapper.service.SerializedAirport;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,17 +19,43 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * REST Controller for airport operations
@@ -35,16 +69,35 @@ public class AirportController {
     private static final Logger log = LoggerFactory.getLogger(AirportController.class);
     
     private final AirportService airportService;
+    private final AirportSerializer airportSerializer;
+    private final AirportExporter airportExporter;
+    private final Duration requestTimeout;
+    private final CacheControl airportCacheControl;
     
-    public AirportController(AirportService airportService) {
+    public AirportController(AirportService airportService,
+            AirportSerializer airportSerializer,
+            AirportExporter airportExporter,
+            @Value("${aviation.server.request-timeout:10s}") Duration requestTimeout,
+            @Value("${aviation.server.cache-control.max-age:15m}") Duration cacheMaxAge,
+            @Value("${aviation.server.cache-control.stale-while-revalidate:1h}") Duration cacheStaleWhileRevalidate) {
         this.airportService = airportService;
+        this.airportSerializer = airportSerializer;
+        this.airportExporter = airportExporter;
+        this.requestTimeout = requestTimeout;
+        this.airportCacheControl = cacheMaxAge.isZero()
+                ? CacheControl.noCache()
+                : CacheControl.maxAge(cacheMaxAge).staleWhileRevalidate(cacheStaleWhileRevalidate).cachePublic();
     }
     
     @GetMapping("/{icaoCode}")
     @Operation(summary = "Get airport by ICAO code", 
-               description = "Retrieves detailed airport information using the 4-letter ICAO code")
+               description = "Retrieves detailed airport information using the 4-letter ICAO code. "
+                       + "Responses carry a strong ETag, a matching If-None-Match is answered with 304")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Airport found"),
+        @ApiResponse(responseCode = "200", description = "Airport found", content =
+                { @Content(mediaType = "application/json", schema =
+                @Schema(implementation = AirportDto.class)) }),
+        @ApiResponse(responseCode = "304", description = "Airport unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "400", description = "Invalid ICAO code format", content =
                 { @Content(mediaType = "application/json", schema =
                 @Schema(implementation = ErrorResponse.class)) }),
@@ -53,25 +106,344 @@ public class AirportController {
         @ApiResponse(responseCode = "503", description = "Service unavailable", content = { @Content(mediaType = "application/json", schema =
         @Schema(implementation = ErrorResponse.class)) })
     })
-    public ResponseEntity<AirportDto> getAirportByIcao(
+    public CompletableFuture<ResponseEntity<?>> getAirportByIcao(
             @PathVariable 
             @Parameter(description = "4-letter ICAO code (e.g., KBAB for London Heathrow)",
                       example = "KBAB")
             @NotBlank(message = "ICAO code cannot be blank")
             @Size(min = 4, max = 4, message = "ICAO code must be exactly 4 characters")
             @Pattern(regexp = "^[A-Za-z]{4}$", message = "ICAO code must contain only letters")
-            String icaoCode) {
+            String icaoCode,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            @Parameter(description = "ETag of a previously received response")
+            String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            @Parameter(hidden = true)
+            String acceptEncoding) {
         
-        log.info("Received request for airport with ICAO code: {}", icaoCode);
+        log.debug("Received request for airport with ICAO code: {}", icaoCode);
 
         try {
-            ResponseEntity<AirportDto> response = ResponseEntity.ok(airportService.getAirportByIcao(icaoCode));
+            return withTimeout(airportService.getAirportEntryByIcao(icaoCode)
+                    .thenApply(airport -> {
+                        log.debug("Successfully processed request for ICAO: {}", icaoCode);
+                        return airportResponse(airport, ifNoneMatch, acceptEncoding);
+                    }));
+        } catch (Exception e) {
+            throw new UpstreamServiceException(e.getMessage(),e);
+        }
+    }
 
-            log.info("Successfully processed request for ICAO: {}", icaoCode);
+    @PostMapping("/batch")
+    @Operation(summary = "Get airports by ICAO codes",
+               description = "Retrieves several airports in one call. Results and failures are reported per ICAO code")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-code results and errors"),
+        @ApiResponse(responseCode = "400", description = "Empty or oversized list of ICAO codes", content =
+                { @Content(mediaType = "application/json", schema =
+                @Schema(implementation = ErrorResponse.class)) })
+    })
+    public CompletableFuture<ResponseEntity<AirportBatchResponse>> getAirportsByIcao(
+            @Valid @RequestBody AirportBatchRequest request) {
 
-            return response;
+        log.info("Received batch request for {} ICAO codes", request.icaoCodes().size());
+
+        try {
+            return withTimeout(airportService.getAirportsByIcao(request.icaoCodes()).thenApply(ResponseEntity::ok));
         } catch (Exception e) {
             throw new UpstreamServiceException(e.getMessage(),e);
         }
     }
+
+    @GetMapping("/by-faa/{faaIdent}")
+    @Operation(summary = "Get airport by FAA ident",
+               description = "Retrieves a cached or locally indexed airport by its FAA location identifier")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Airport found"),
+        @ApiResponse(responseCode = "400", description = "Invalid FAA ident format", content =
+                { @Content(mediaType = "application/json", schema =
+                @Schema(implementation = ErrorResponse.class)) }),
+        @ApiResponse(responseCode = "404", description = "No indexed airport with this ident", content =
+                { @Content(mediaType = "application/json", schema =
+                @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<AirportDto> getAirportByFaaIdent(
+            @PathVariable
+            @Parameter(description = "3 or 4 character FAA ident (e.g., BAB for Beale AFB)", example = "BAB")
+            @Pattern(regexp = "^[A-Za-z0-9]{3,4}$", message = "FAA ident must contain 3 or 4 letters or digits")
+            String faaIdent) {
+
+        log.info("Received request for airport with FAA ident: {}", faaIdent);
+        return ResponseEntity.ok(airportService.getAirportByFaaIdent(faaIdent));
+    }
+
+    @GetMapping("/by-state/{state}")
+    @Operation(summary = "List airports by state",
+               description = "Lists cached or locally indexed airports of a state ordered by ICAO code. "
+                       + "Pass the returned nextCursor as cursor to fetch the next page")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "One page of airports, nextCursor is null on the last page"),
+        @ApiResponse(responseCode = "400", description = "Invalid state, cursor or limit", content =
+                { @Content(mediaType = "application/json", schema =
+                @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<AirportPage> getAirportsByState(
+            @PathVariable
+            @Parameter(description = "State code", example = "CA")
+            @Size(max = 10, message = "State must not exceed 10 characters")
+            String state,
+            @RequestParam(required = false)
+            @Parameter(description = "ICAO code after which the page starts, from the previous page's nextCursor")
+            @Pattern(regexp = "^[A-Za-z]{4}$", message = "Cursor must be an ICAO code")
+            String cursor,
+            @RequestParam(defaultValue = "100")
+            @Parameter(description = "Page size", example = "100")
+            @Min(value = 1, message = "Limit must be between 1 and 500")
+            @Max(value = 500, message = "Limit must be between 1 and 500")
+            int limit) {
+
+        log.info("Received listing request for state {}", state);
+        return ResponseEntity.ok(airportService.getAirportsByState(state, cursor, limit));
+    }
+
+    @GetMapping("/by-region/{region}")
+    @Operation(summary = "List airports by region",
+               description = "Lists cached or locally indexed airports of an FAA region ordered by ICAO code. "
+                       + "Pass the returned nextCursor as cursor to fetch the next page")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "One page of airports, nextCursor is null on the last page"),
+        @ApiResponse(responseCode = "400", description = "Invalid region, cursor or limit", content =
+                { @Content(mediaType = "application/json", schema =
+                @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<AirportPage> getAirportsByRegion(
+            @PathVariable
+            @Parameter(description = "FAA region code", example = "AWP")
+            @Size(max = 10, message = "Region must not exceed 10 characters")
+            String region,
+            @RequestParam(required = false)
+            @Parameter(description = "ICAO code after which the page starts, from the previous page's nextCursor")
+            @Pattern(regexp = "^[A-Za-z]{4}$", message = "Cursor must be an ICAO code")
+            String cursor,
+            @RequestParam(defaultValue = "100")
+            @Parameter(description = "Page size", example = "100")
+            @Min(value = 1, message = "Limit must be between 1 and 500")
+            @Max(value = 500, message = "Limit must be between 1 and 500")
+            int limit) {
+
+        log.info("Received listing request for region {}", region);
+        return ResponseEntity.ok(airportService.getAirportsByRegion(region, cursor, limit));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export airports",
+               description = "Streams every cached or locally indexed airport, optionally filtered by state and "
+                       + "region, as newline-delimited JSON or CSV. Honours If-Modified-Since")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Airports streamed, one per line"),
+        @ApiResponse(responseCode = "304", description = "No airport added or changed since If-Modified-Since"),
+        @ApiResponse(responseCode = "400", description = "Unknown format or invalid filter", content =
+                { @Content(mediaType = "application/json", schema =
+                @Schema(implementation = ErrorResponse.class)) })
+    })
+    public void exportAirports(
+            @RequestParam(defaultValue = "ndjson")
+            @Parameter(description = "Output format, ndjson or csv", example = "ndjson")
+            @Pattern(regexp = "^(?i)(ndjson|csv)$", message = "Format must be ndjson or csv")
+            String format,
+            @RequestParam(required = false)
+            @Parameter(description = "State code filter", example = "CA")
+            @Size(max = 10, message = "State must not exceed 10 characters")
+            String state,
+            @RequestParam(required = false)
+            @Parameter(description = "FAA region code filter", example = "AWP")
+            @Size(max = 10, message = "Region must not exceed 10 characters")
+            String region,
+            @Parameter(hidden = true) ServletWebRequest webRequest,
+            @Parameter(hidden = true) HttpServletResponse response) throws IOException {
+
+        // Written on the request thread: blocking servlet writes pace the export to the client, and a long
+        // export is not cut by the async request timeout
+        if (webRequest.checkNotModified(airportExporter.lastModified().toEpochMilli())) {
+            return;
+        }
+        AirportExporter.Format exportFormat = AirportExporter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        log.info("Received export request as {} (state={}, region={})", exportFormat, state, region);
+        response.setContentType(exportFormat.mediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        airportExporter.export(state, region, exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search airports by prefix",
+               description = "Type-ahead over ICAO code, FAA ident, facility name and city of cached or locally "
+                       + "indexed airports, ranked by matched field")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching airports, possibly none"),
+        @ApiResponse(responseCode = "400", description = "Blank query or invalid limit", content =
+                { @Content(mediaType = "application/json", schema =
+                @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<List<AirportDto>> searchAirports(
+            @RequestParam
+            @Parameter(description = "Prefix of an ident, facility name, city or one of their words", example = "kenn")
+            @NotBlank(message = "Search query cannot be blank")
+            @Size(max = 100, message = "Search query must not exceed 100 characters")
+            String q,
+            @RequestParam(defaultValue = "10")
+            @Parameter(description = "Maximum number of airports returned", example = "10")
+            @Min(value = 1, message = "Limit must be between 1 and 50")
+            @Max(value = 50, message = "Limit must be between 1 and 50")
+            int limit) {
+
+        log.debug("Received search request for '{}'", q);
+        return ResponseEntity.ok(airportService.searchAirports(q, limit));
+    }
+
+    @GetMapping("/nearby")
+    @Operation(summary = "Get airports near a position",
+               description = "Returns cached or locally indexed airports within a radius of a point, nearest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Airports found, possibly none"),
+        @ApiResponse(responseCode = "400", description = "Invalid position, radius or limit", content =
+                { @Content(mediaType = "application/json", schema =
+                @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<List<NearbyAirport>> getAirportsNearby(
+            @RequestParam
+            @Parameter(description = "Latitude in decimal degrees", example = "40.7128")
+            @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90")
+            @DecimalMax(value = "90", message = "Latitude must be between -90 and 90")
+            double lat,
+            @RequestParam
+            @Parameter(description = "Longitude in decimal degrees", example = "-74.0060")
+            @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180")
+            @DecimalMax(value = "180", message = "Longitude must be between -180 and 180")
+            double lon,
+            @RequestParam(defaultValue = "50")
+            @Parameter(description = "Search radius in kilometres", example = "50")
+            @DecimalMin(value = "0", message = "Radius must not be negative")
+            @DecimalMax(value = "20038", message = "Radius must not exceed half the Earth's circumference")
+            double radiusKm,
+            @RequestParam(defaultValue = "20")
+            @Parameter(description = "Maximum number of airports returned", example = "20")
+            @Min(value = 1, message = "Limit must be between 1 and 500")
+            @Max(value = 500, message = "Limit must be between 1 and 500")
+            int limit) {
+
+        log.info("Received nearby request for {},{} within {} km", lat, lon, radiusKm);
+        return ResponseEntity.ok(airportService.findAirportsWithinRadius(lat, lon, radiusKm, limit));
+    }
+
+    @GetMapping("/nearest")
+    @Operation(summary = "Get the airports nearest to a position",
+               description = "Returns the k cached or locally indexed airports nearest to a point, nearest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Nearest airports, fewer than k when fewer are indexed"),
+        @ApiResponse(responseCode = "400", description = "Invalid position or k", content =
+                { @Content(mediaType = "application/json", schema =
+                @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<List<NearbyAirport>> getNearestAirports(
+            @RequestParam
+            @Parameter(description = "Latitude in decimal degrees", example = "40.7128")
+            @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90")
+            @DecimalMax(value = "90", message = "Latitude must be between -90 and 90")
+            double lat,
+            @RequestParam
+            @Parameter(description = "Longitude in decimal degrees", example = "-74.0060")
+            @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180")
+            @DecimalMax(value = "180", message = "Longitude must be between -180 and 180")
+            double lon,
+            @RequestParam(defaultValue = "5")
+            @Parameter(description = "Number of airports returned", example = "5")
+            @Min(value = 1, message = "k must be between 1 and 100")
+            @Max(value = 100, message = "k must be between 1 and 100")
+            int k) {
+
+        log.info("Received nearest request for {} airports around {},{}", k, lat, lon);
+        return ResponseEntity.ok(airportService.findNearestAirports(lat, lon, k));
+    }
+
+    /**
+     * Builds the single-airport response. With pre-serialized bodies enabled, the entry's cached JSON (or gzip)
+     * bytes are written as they are, without building the DTO or running Jackson.
+     */
+    private ResponseEntity<?> airportResponse(CompactAirport airport, String ifNoneMatch, String acceptEncoding) {
+        String etag = airport.etag();
+        String matchedEtag = matchesEtag(ifNoneMatch, etag) ? etag
+                : matchesEtag(ifNoneMatch, gzipEtag(etag)) ? gzipEtag(etag) : null;
+        if (matchedEtag != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(matchedEtag)
+                    .cacheControl(airportCacheControl)
+                    .build();
+        }
+        if (!airportSerializer.isEnabled()) {
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(airportCacheControl)
+                    .body(airport.toDto());
+        }
+
+        SerializedAirport serialized = airportSerializer.serialized(airport);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(airportCacheControl);
+        if (serialized.gzipJson() == null) {
+            return response.eTag(etag).body(serialized.json());
+        }
+        response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip")) {
+            // A distinct strong ETag per representation, both are accepted back in If-None-Match
+            return response.eTag(gzipEtag(etag))
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(serialized.gzipJson());
+        }
+        return response.eTag(etag).body(serialized.json());
+    }
+
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    /**
+     * Weak comparison of If-None-Match against the current ETag, as required for GET by RFC 9110
+     */
+    static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bounds the asynchronous response by the server-side request timeout and maps failures
+     * to {@link UpstreamServiceException} like the synchronous path
+     */
+    private <T> CompletableFuture<T> withTimeout(CompletableFuture<T> response) {
+        return response
+                .orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        throw new UpstreamServiceException("Request timeout while retrieving airport data", cause);
+                    }
+                    throw new UpstreamServiceException(cause.getMessage(), cause);
+                });
+    }
 }
\ No newline at end of file
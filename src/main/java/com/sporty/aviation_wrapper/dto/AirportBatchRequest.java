@@ -0,0 +1,16 @@
+package com.sporty.aviation_wrapper.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request body for looking up several airports at once
+ */
+public record AirportBatchRequest(
+        @NotEmpty(message = "ICAO codes cannot be empty")
+        @Size(max = 1000, message = "At most 1000 ICAO codes can be requested at once")
+        List<String> icaoCodes
+) {
+}
@@ -0,0 +1,18 @@
+package com.sporty.aviation_wrapper.dto;
+
+import java.util.Map;
+
+/**
+ * Per-code results of a batch airport lookup, codes are upper-cased
+ */
+public record AirportBatchResponse(
+        Map<String, AirportDto> airports,
+        Map<String, Failure> errors
+) {
+
+    /**
+     * Reason a single code could not be resolved
+     */
+    public record Failure(int status, String message) {
+    }
+}
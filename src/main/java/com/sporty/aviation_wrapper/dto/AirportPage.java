@@ -0,0 +1,13 @@
+package com.sporty.aviation_wrapper.dto;
+
+import java.util.List;
+
+/**
+ * One page of an airport listing ordered by ICAO code.
+ * {@code nextCursor} is passed back as {@code cursor} to fetch the next page, it is {@code null} on the last page.
+ */
+public record AirportPage(
+        List<AirportDto> airports,
+        String nextCursor
+) {
+}
@@ -0,0 +1,10 @@
+package com.sporty.aviation_wrapper.dto;
+
+/**
+ * Airport found by a geospatial search, with its great-circle distance to the query point
+ */
+public record NearbyAirport(
+        AirportDto airport,
+        double distanceKm
+) {
+}
@@ -8,4 +8,8 @@ public class AirportNotFoundException extends AviationServiceException {
     public AirportNotFoundException(String icaoCode) {
         super("Airport with ICAO code '" + icaoCode + "' not found");
     }
+
+    public AirportNotFoundException(String identifierName, String identifier) {
+        super("Airport with " + identifierName + " '" + identifier + "' not found");
+    }
 }
@@ -10,6 +10,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
@@ -98,6 +99,22 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorResponse> handleMissingParameter(
+            MissingServletRequestParameterException ex, HttpServletRequest request) {
+
+        log.warn("Missing request parameter: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.of(
+                BAD_REQUEST,
+            "Missing required parameter: " + ex.getParameterName(),
+            request.getRequestURI(),
+            HttpStatus.BAD_REQUEST.value()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex, HttpServletRequest request) {
@@ -115,6 +132,9 @@ public class GlobalExceptionHandler {
     }
     
     private HttpStatus determineHttpStatus(AviationServiceException ex) {
+        if (ex instanceof UpstreamLimitExceededException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
         String message = ex.getMessage().toLowerCase();
         
         if (message.contains("not found")) {
@@ -125,6 +145,8 @@ public class GlobalExceptionHandler {
             return HttpStatus.SERVICE_UNAVAILABLE;
         } else if (message.contains("timeout")) {
             return HttpStatus.REQUEST_TIMEOUT;
+        } else if (message.contains("invalid response")) {
+            return HttpStatus.BAD_GATEWAY;
         }
         
         return HttpStatus.INTERNAL_SERVER_ERROR;
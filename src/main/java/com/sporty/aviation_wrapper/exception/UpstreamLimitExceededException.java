@@ -0,0 +1,11 @@
+package com.sporty.aviation_wrapper.exception;
+
+/**
+ * Exception thrown when an upstream call is refused by the concurrency limiter instead of waiting longer
+ */
+public class UpstreamLimitExceededException extends AviationServiceException {
+
+    public UpstreamLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,277 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.sporty.aviation_wrapper.config.CacheConfig;
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Persists the {@code airports} cache to a binary snapshot file, periodically and at shutdown, and loads it
+ * back through a memory-mapped read at startup so a new instance serves hot codes from its first request.
+ * The header carries a format version and an expiry time, snapshots of another version or past their
+ * expiry are ignored. Each entry keeps its write time: entries past the cache's {@code expireAfterWrite} are
+ * dropped at load, the others keep their age, so stale ones are refreshed like any other stale entry.
+ */
+@Component
+public class AirportCacheSnapshot implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AirportCacheSnapshot.class);
+
+    static final int MAGIC = 0x41505354; // "APST"
+    static final short VERSION = 2;
+    private static final int NULL_LENGTH = -1;
+
+    private final Cache airportCache;
+    private final AirportIndexes indexes;
+    private final AirportService airportService;
+    private final boolean enabled;
+    private final Path path;
+    private final Duration interval;
+    private final Duration maxAge;
+    private ScheduledExecutorService saveTimer;
+
+    public AirportCacheSnapshot(CacheManager cacheManager,
+            AirportIndexes indexes,
+            AirportService airportService,
+            @Value("${aviation.cache.snapshot.enabled:false}") boolean enabled,
+            @Value("${aviation.cache.snapshot.path:airports-cache.snapshot}") Path path,
+            @Value("${aviation.cache.snapshot.interval:5m}") Duration interval,
+            @Value("${aviation.cache.snapshot.max-age:1h}") Duration maxAge) {
+        this.airportCache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.AIRPORTS_CACHE));
+        this.indexes = indexes;
+        this.airportService = airportService;
+        this.enabled = enabled;
+        this.path = path;
+        this.interval = interval;
+        this.maxAge = maxAge;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+        load();
+        saveTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "airport-snapshot-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        saveTimer.scheduleWithFixedDelay(this::save, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs after the web server finished its graceful shutdown, so the snapshot holds the final cache contents
+     */
+    @Override
+    public void destroy() {
+        if (!enabled) {
+            return;
+        }
+        saveTimer.shutdownNow();
+        save();
+    }
+
+    /**
+     * Writes the cache contents to a temporary file and atomically replaces the previous snapshot
+     */
+    void save() {
+        Map<Object, Object> entries = nativeEntries();
+        if (entries.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        Policy.FixedExpiration<Object, Object> writeAge = writeAgePolicy();
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            int written;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                written = write(out, entries, key -> writeAge == null ? now
+                        : now.minusNanos(writeAge.ageOf(key, TimeUnit.NANOSECONDS).orElse(0)), now.plus(maxAge));
+            } catch (IOException e) {
+                Files.deleteIfExists(temporary);
+                throw e;
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Saved {} airports to cache snapshot {}", written, path);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not save airport cache snapshot to {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Loads a valid, unexpired snapshot into the cache, a missing or corrupt file leaves the cache empty
+     */
+    void load() {
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Instant now = Instant.now();
+            Map<String, SavedAirport> airports = read(buffer, now);
+            if (airports == null) {
+                log.info("Discarding outdated airport cache snapshot {}", path);
+                return;
+            }
+            Policy.FixedExpiration<Object, Object> writeAge = writeAgePolicy();
+            Duration hardTtl = writeAge == null ? null : writeAge.getExpiresAfter();
+            int loaded = 0;
+            for (Map.Entry<String, SavedAirport> saved : airports.entrySet()) {
+                int key = IcaoKey.pack(saved.getKey());
+                Duration age = Duration.between(saved.getValue().writtenAt(), now);
+                if (key == IcaoKey.INVALID || (hardTtl != null && age.compareTo(hardTtl) >= 0)) {
+                    continue;
+                }
+                CompactAirport entry = CompactAirport.of(saved.getValue().airport());
+                indexes.add(entry);
+                airportCache.put(key, entry);
+                airportService.restoreAge(key, age.isNegative() ? Duration.ZERO : age);
+                loaded++;
+            }
+            log.info("Loaded {} of {} airports from cache snapshot {}", loaded, airports.size(), path);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            log.warn("Could not load airport cache snapshot from {}: {}", path, e.getMessage());
+        }
+    }
+
+    private Map<Object, Object> nativeEntries() {
+        if (airportCache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+            return Map.copyOf(caffeineCache.asMap());
+        }
+        return Map.of();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Policy.FixedExpiration<Object, Object> writeAgePolicy() {
+        if (airportCache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+            return (Policy.FixedExpiration<Object, Object>) caffeineCache.policy().expireAfterWrite().orElse(null);
+        }
+        return null;
+    }
+
+    static int write(DataOutputStream out, Map<?, ?> entries, Function<Object, Instant> writtenAt, Instant expiresAt)
+            throws IOException {
+        int count = (int) entries.entrySet().stream().filter(AirportCacheSnapshot::isAirportEntry).count();
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(expiresAt.toEpochMilli());
+        out.writeInt(count);
+        for (Map.Entry<?, ?> entry : entries.entrySet()) {
+            if (isAirportEntry(entry)) {
+                writeString(out, IcaoKey.unpack((Integer) entry.getKey()));
+                out.writeLong(writtenAt.apply(entry.getKey()).toEpochMilli());
+                writeAirport(out, ((CompactAirport) entry.getValue()).toDto());
+            }
+        }
+        return count;
+    }
+
+    private static boolean isAirportEntry(Map.Entry<?, ?> entry) {
+        return entry.getKey() instanceof Integer && entry.getValue() instanceof CompactAirport;
+    }
+
+    /**
+     * Returns the snapshot entries keyed by ICAO code, or {@code null} when the snapshot has another version or is expired
+     */
+    static Map<String, SavedAirport> read(ByteBuffer buffer, Instant now) {
+        if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+            return null;
+        }
+        if (Instant.ofEpochMilli(buffer.getLong()).isBefore(now)) {
+            return null;
+        }
+        int count = buffer.getInt();
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative entry count " + count);
+        }
+        Map<String, SavedAirport> airports = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String icaoCode = readString(buffer);
+            Instant writtenAt = Instant.ofEpochMilli(buffer.getLong());
+            airports.put(icaoCode, new SavedAirport(readAirport(buffer), writtenAt));
+        }
+        return airports;
+    }
+
+    private static void writeAirport(DataOutputStream out, AirportDto airport) throws IOException {
+        writeString(out, airport.icao());
+        writeString(out, airport.iata());
+        writeString(out, airport.facility_name());
+        writeString(out, airport.region());
+        writeString(out, airport.district_office());
+        writeString(out, airport.state());
+        writeString(out, airport.state_full());
+        writeString(out, airport.city());
+        writeString(out, airport.county());
+        writeString(out, airport.latitude());
+        writeString(out, airport.longitude());
+        out.writeBoolean(airport.elevation() != null);
+        if (airport.elevation() != null) {
+            out.writeInt(airport.elevation());
+        }
+    }
+
+    private static AirportDto readAirport(ByteBuffer buffer) {
+        return new AirportDto(readString(buffer), readString(buffer), readString(buffer), readString(buffer),
+                readString(buffer), readString(buffer), readString(buffer), readString(buffer), readString(buffer),
+                readString(buffer), readString(buffer), buffer.get() != 0 ? buffer.getInt() : null);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    record SavedAirport(AirportDto airport, Instant writtenAt) {
+    }
+}
@@ -0,0 +1,191 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sporty.aviation_wrapper.client.ReactiveAviationApiClient;
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import com.sporty.aviation_wrapper.dto.AviationApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of a local airport dataset, keyed by packed {@link IcaoKey}.
+ * The dataset is a JSON lines file with one object per line in the {@link AviationApiResponse} shape, loaded
+ * once at startup. When enabled, lookups are answered from the index and upstream is only used for codes missing
+ * from it and for a background verification that re-fetches a slice of the indexed codes on every run.
+ */
+@Component
+public class AirportDatasetIndex implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AirportDatasetIndex.class);
+    private static final ObjectReader AIRPORT_READER = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build()
+            .readerFor(AviationApiResponse.class);
+
+    private final ReactiveAviationApiClient aviationApiClient;
+    private final AirportIndexes indexes;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Path path;
+    private final Duration verifyInterval;
+    private final int verifyBatchSize;
+    private final Map<Integer, CompactAirport> airports = new ConcurrentHashMap<>();
+    private final AtomicLong loadNanos = new AtomicLong();
+    private List<Integer> verificationOrder = List.of();
+    private int verificationCursor;
+    private ScheduledExecutorService verifyTimer;
+
+    public AirportDatasetIndex(ReactiveAviationApiClient aviationApiClient,
+            AirportIndexes indexes,
+            MeterRegistry meterRegistry,
+            @Value("${aviation.dataset.enabled:false}") boolean enabled,
+            @Value("${aviation.dataset.path:airports.jsonl}") Path path,
+            @Value("${aviation.dataset.verify-interval:0}") Duration verifyInterval,
+            @Value("${aviation.dataset.verify-batch-size:50}") int verifyBatchSize) {
+        this.aviationApiClient = aviationApiClient;
+        this.indexes = indexes;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.path = path;
+        this.verifyInterval = verifyInterval;
+        this.verifyBatchSize = verifyBatchSize;
+        Gauge.builder("airport_index_size", airports, Map::size)
+                .description("Number of airports in the local dataset index")
+                .register(meterRegistry);
+        TimeGauge.builder("airport_index_load_duration", loadNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("Time taken to load the local dataset at startup")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        load();
+        if (!verifyInterval.isZero() && !verifyInterval.isNegative()) {
+            verifyTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "airport-index-verifier");
+                thread.setDaemon(true);
+                return thread;
+            });
+            verifyTimer.scheduleWithFixedDelay(this::verifyNextSlice, verifyInterval.toMillis(),
+                    verifyInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (verifyTimer != null) {
+            verifyTimer.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the indexed airport for a packed ICAO key, or {@code null} when the code is not indexed
+     */
+    public AirportDto get(Integer key) {
+        CompactAirport airport = airports.get(key);
+        return airport == null ? null : airport.toDto();
+    }
+
+    /**
+     * Returns the indexed entry for a packed ICAO key, or {@code null} when the code is not indexed
+     */
+    public CompactAirport getEntry(Integer key) {
+        return airports.get(key);
+    }
+
+    void load() throws IOException {
+        long start = System.nanoTime();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), 64 * 1024);
+             MappingIterator<AviationApiResponse> lines = AIRPORT_READER.readValues(in)) {
+            while (lines.hasNextValue()) {
+                AviationApiResponse airport = lines.nextValue();
+                int key = IcaoKey.pack(airport.icao_ident());
+                if (key != IcaoKey.INVALID) {
+                    CompactAirport entry = CompactAirport.of(airport.toDto());
+                    airports.put(key, entry);
+                    indexes.add(entry);
+                }
+            }
+        }
+        verificationOrder = List.copyOf(airports.keySet());
+        loadNanos.set(System.nanoTime() - start);
+        log.info("Loaded {} airports from dataset {} in {} ms", airports.size(), path,
+                TimeUnit.NANOSECONDS.toMillis(loadNanos.get()));
+    }
+
+    /**
+     * Re-fetches the next slice of indexed codes from upstream and replaces entries that changed
+     */
+    void verifyNextSlice() {
+        if (verificationOrder.isEmpty()) {
+            return;
+        }
+        List<String> slice = new ArrayList<>(verifyBatchSize);
+        for (int i = 0; i < Math.min(verifyBatchSize, verificationOrder.size()); i++) {
+            slice.add(IcaoKey.unpack(verificationOrder.get(verificationCursor)));
+            verificationCursor = (verificationCursor + 1) % verificationOrder.size();
+        }
+
+        try {
+            Map<String, AviationApiResponse> fetched = aviationApiClient.getAirportsByIcaoCodes(slice).block();
+            for (String icaoCode : slice) {
+                AviationApiResponse response = fetched == null ? null : fetched.get(icaoCode);
+                if (response == null) {
+                    verificationCounter("missing").increment();
+                    continue;
+                }
+                AirportDto current = response.toDto();
+                int key = IcaoKey.pack(icaoCode);
+                CompactAirport previous = airports.get(key);
+                if (previous != null && Objects.equals(previous.toDto(), current)) {
+                    verificationCounter("match").increment();
+                } else {
+                    CompactAirport entry = CompactAirport.of(current);
+                    airports.put(key, entry);
+                    indexes.add(entry);
+                    verificationCounter("updated").increment();
+                }
+            }
+        } catch (RuntimeException e) {
+            verificationCounter("failure").increment(slice.size());
+            log.warn("Verification of {} indexed airports failed: {}", slice.size(), e.getMessage());
+        }
+    }
+
+    private Counter verificationCounter(String outcome) {
+        return Counter.builder("airport_index_verification_total")
+                .description("Indexed airports compared against upstream by the background verification")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,144 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams every known airport as newline-delimited JSON or CSV.
+ * Airports are read lazily from the secondary index and written one at a time through a fixed-size buffer
+ * that is flushed every {@code aviation.export.flush-every} airports, so memory stays bounded whatever the
+ * export size and a slow client blocks the writer instead of letting output pile up.
+ */
+@Component
+public class AirportExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(AirportExporter.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "icao,iata,facility_name,region,district_office,state,state_full,"
+            + "city,county,latitude,longitude,elevation\n";
+
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String mediaType;
+
+        Format(String mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+    }
+
+    private final AirportIndexes indexes;
+    private final ObjectWriter airportWriter;
+    private final int flushEvery;
+    private final Counter exportedCounter;
+
+    public AirportExporter(AirportIndexes indexes,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${aviation.export.flush-every:500}") int flushEvery) {
+        this.indexes = indexes;
+        // The exporter owns the response stream, Jackson must neither close nor flush it after each airport
+        this.airportWriter = objectMapper.writerFor(AirportDto.class)
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .without(StreamWriteFeature.FLUSH_PASSED_TO_STREAM)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.flushEvery = Math.max(flushEvery, 1);
+        this.exportedCounter = Counter.builder("airport_export_records_total")
+                .description("Total number of airports written by exports")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns when the exported data last changed, for {@code If-Modified-Since}
+     */
+    public Instant lastModified() {
+        return indexes.lastModified();
+    }
+
+    /**
+     * Writes the airports of the state and/or region, or all of them, and returns how many were written.
+     * The target stream is flushed but not closed.
+     */
+    public int export(String state, String region, Format format, OutputStream target) throws IOException {
+        BufferedOutputStream out = new BufferedOutputStream(target, BUFFER_SIZE);
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+
+        int written = 0;
+        try (Stream<CompactAirport> airports = indexes.secondary().stream(state, region)) {
+            Iterator<CompactAirport> iterator = airports.iterator();
+            while (iterator.hasNext()) {
+                CompactAirport airport = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsv(airport.toDto(), out);
+                } else {
+                    airportWriter.writeValue(out, airport.toDto());
+                }
+                out.write('\n');
+                if (++written % flushEvery == 0) {
+                    out.flush();
+                }
+            }
+        } finally {
+            exportedCounter.increment(written);
+        }
+        out.flush();
+        log.info("Exported {} airports as {} (state={}, region={})", written, format, state, region);
+        return written;
+    }
+
+    private static void writeCsv(AirportDto airport, OutputStream out) throws IOException {
+        StringBuilder line = new StringBuilder(256);
+        appendCsv(line, airport.icao()).append(',');
+        appendCsv(line, airport.iata()).append(',');
+        appendCsv(line, airport.facility_name()).append(',');
+        appendCsv(line, airport.region()).append(',');
+        appendCsv(line, airport.district_office()).append(',');
+        appendCsv(line, airport.state()).append(',');
+        appendCsv(line, airport.state_full()).append(',');
+        appendCsv(line, airport.city()).append(',');
+        appendCsv(line, airport.county()).append(',');
+        appendCsv(line, airport.latitude()).append(',');
+        appendCsv(line, airport.longitude()).append(',');
+        if (airport.elevation() != null) {
+            line.append(airport.elevation());
+        }
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * RFC 4180 quoting: values holding a separator, quote or line break are quoted with inner quotes doubled
+     */
+    private static StringBuilder appendCsv(StringBuilder line, String value) {
+        if (value == null) {
+            return line;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return line.append(value);
+        }
+        return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
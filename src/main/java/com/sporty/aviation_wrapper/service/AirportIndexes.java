@@ -0,0 +1,104 @@
+package com.sporty.aviation_wrapper.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory indexes answering the queries the upstream API cannot: by position, by prefix, by FAA ident,
+ * state and region. Every airport entering the cache, the cache snapshot or the local dataset goes through
+ * {@link #add(CompactAirport)}, and leaves through {@link #remove(CompactAirport)} when the cache evicts it,
+ * which keeps all of them in step with what the service serves.
+ * The indexes share one store of the very {@link CompactAirport} entries held by the cache and the dataset,
+ * their own maps only hold packed ICAO keys.
+ */
+@Component
+public class AirportIndexes {
+
+    private final Map<Integer, CompactAirport> airports = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AirportSpatialIndex spatial;
+    private final AirportSearchIndex search;
+    private final AirportSecondaryIndex secondary;
+    private volatile Instant lastModified = Instant.EPOCH;
+
+    public AirportIndexes(MeterRegistry meterRegistry) {
+        Map<Integer, CompactAirport> store = Collections.unmodifiableMap(airports);
+        this.spatial = new AirportSpatialIndex(store, meterRegistry);
+        this.search = new AirportSearchIndex(store, meterRegistry);
+        this.secondary = new AirportSecondaryIndex(store, meterRegistry);
+    }
+
+    /**
+     * Indexes an airport, or moves it when another version is already indexed, airports without an ICAO code
+     * are ignored
+     */
+    public void add(CompactAirport airport) {
+        int key = IcaoKey.pack(airport.icao());
+        if (key == IcaoKey.INVALID) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            CompactAirport previous = airports.put(key, airport);
+            if (previous == airport) {
+                return;
+            }
+            spatial.add(key, airport);
+            search.add(key, airport, previous);
+            secondary.add(key, airport, previous);
+            if (previous == null || !previous.hasSameContent(airport)) {
+                lastModified = Instant.now();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the airport from every index, unless another entry replaced it meanwhile
+     */
+    public void remove(CompactAirport airport) {
+        int key = IcaoKey.pack(airport.icao());
+        writeLock.lock();
+        try {
+            if (!airports.remove(key, airport)) {
+                return;
+            }
+            spatial.remove(key);
+            search.remove(key, airport);
+            secondary.remove(key, airport);
+            lastModified = Instant.now();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns when an airport was last added, changed or removed, {@link Instant#EPOCH} while nothing was indexed
+     */
+    public Instant lastModified() {
+        return lastModified;
+    }
+
+    public int size() {
+        return airports.size();
+    }
+
+    public AirportSpatialIndex spatial() {
+        return spatial;
+    }
+
+    public AirportSearchIndex search() {
+        return search;
+    }
+
+    public AirportSecondaryIndex secondary() {
+        return secondary;
+    }
+}
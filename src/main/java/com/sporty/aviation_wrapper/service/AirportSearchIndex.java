@@ -0,0 +1,148 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Type-ahead index over the ICAO code, FAA ident, facility name and city of every airport that entered the
+ * cache or the local dataset.
+ * Each field is a tier of sorted terms, a query walks the terms starting with its prefix tier by tier and stops
+ * as soon as {@code limit} airports were found, so short prefixes matching thousands of terms stay cheap.
+ * Results are ranked by tier (ident, whole name, word of the name, whole city, word of the city), then by term.
+ * Terms map to packed ICAO keys, the airports themselves are read from the store shared by {@link AirportIndexes}.
+ */
+public class AirportSearchIndex {
+
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final int IDENT = 0;
+    private static final int NAME = 1;
+    private static final int NAME_WORD = 2;
+    private static final int CITY = 3;
+    private static final int CITY_WORD = 4;
+    private static final int TIERS = 5;
+
+    /** Sorted {@code term + '\0' + icao} keys per tier, the value is the packed ICAO key */
+    private final List<ConcurrentSkipListMap<String, Integer>> tiers = new ArrayList<>(TIERS);
+    private final Map<Integer, CompactAirport> airports;
+
+    AirportSearchIndex(Map<Integer, CompactAirport> airports, MeterRegistry meterRegistry) {
+        this.airports = airports;
+        for (int tier = 0; tier < TIERS; tier++) {
+            tiers.add(new ConcurrentSkipListMap<>());
+        }
+        Gauge.builder("airport_search_index_size", airports, Map::size)
+                .description("Number of airports in the type-ahead search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indexes the terms of an airport, replacing the terms of its previous version
+     */
+    void add(int key, CompactAirport airport, CompactAirport previous) {
+        String icaoCode = IcaoKey.unpack(key);
+        if (previous != null) {
+            forEachTerm(previous.toDto(), (tier, term) -> tiers.get(tier).remove(term + KEY_SEPARATOR + icaoCode));
+        }
+        forEachTerm(airport.toDto(), (tier, term) -> tiers.get(tier).put(term + KEY_SEPARATOR + icaoCode, key));
+    }
+
+    void remove(int key, CompactAirport airport) {
+        String icaoCode = IcaoKey.unpack(key);
+        forEachTerm(airport.toDto(), (tier, term) -> tiers.get(tier).remove(term + KEY_SEPARATOR + icaoCode));
+    }
+
+    /**
+     * Returns at most {@code limit} airports whose ident, facility name, city, or a word of them, starts with
+     * the query; matching ignores case and punctuation
+     */
+    public List<AirportDto> search(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        String upperBound = prefix + Character.MAX_VALUE;
+        Set<Integer> found = new LinkedHashSet<>();
+        for (int tier = 0; tier < TIERS && found.size() < limit; tier++) {
+            for (Integer key : tiers.get(tier).subMap(prefix, upperBound).values()) {
+                found.add(key);
+                if (found.size() == limit) {
+                    break;
+                }
+            }
+        }
+
+        List<AirportDto> results = new ArrayList<>(found.size());
+        for (Integer key : found) {
+            CompactAirport airport = airports.get(key);
+            if (airport != null) {
+                results.add(airport.toDto());
+            }
+        }
+        return results;
+    }
+
+    public int size() {
+        return airports.size();
+    }
+
+    private static void forEachTerm(AirportDto airport, TermConsumer consumer) {
+        String icao = normalize(airport.icao());
+        consumer.accept(IDENT, icao);
+        String faaIdent = normalize(airport.iata());
+        if (!faaIdent.isEmpty() && !faaIdent.equals(icao)) {
+            consumer.accept(IDENT, faaIdent);
+        }
+        addWords(normalize(airport.facility_name()), NAME, NAME_WORD, consumer);
+        addWords(normalize(airport.city()), CITY, CITY_WORD, consumer);
+    }
+
+    /**
+     * Adds the whole text and every later word, so "john f kennedy" is found by "joh", "f k" and "kenn"
+     */
+    private static void addWords(String text, int wholeTier, int wordTier, TermConsumer consumer) {
+        if (text.isEmpty()) {
+            return;
+        }
+        consumer.accept(wholeTier, text);
+        for (int i = text.indexOf(' '); i >= 0; i = text.indexOf(' ', i + 1)) {
+            consumer.accept(wordTier, text.substring(i + 1));
+        }
+    }
+
+    /**
+     * Lower-cases the text and collapses every run of non-alphanumeric characters into a single space
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    @FunctionalInterface
+    private interface TermConsumer {
+        void accept(int tier, String term);
+    }
+}
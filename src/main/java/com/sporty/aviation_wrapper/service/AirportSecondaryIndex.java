@@ -0,0 +1,171 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import com.sporty.aviation_wrapper.dto.AirportPage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * Secondary indexes by FAA ident, state and region over every airport that entered the cache or the local dataset.
+ * States and regions map to sorted sets of packed ICAO keys; packed keys sort like the ICAO codes, so a page
+ * resumes right after the ICAO code of the previous page without scanning what came before.
+ * Re-adding an airport moves it between the indexes when its ident, state or region changed. The airports
+ * themselves are read from the store shared by {@link AirportIndexes}.
+ */
+public class AirportSecondaryIndex {
+
+    private final Map<Integer, CompactAirport> airports;
+    private final Map<String, Integer> byFaaIdent = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Integer>> byState = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Integer>> byRegion = new ConcurrentHashMap<>();
+
+    AirportSecondaryIndex(Map<Integer, CompactAirport> airports, MeterRegistry meterRegistry) {
+        this.airports = airports;
+        Gauge.builder("airport_secondary_index_size", airports, Map::size)
+                .description("Number of airports in the FAA ident, state and region indexes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indexes an airport, moving it away from the ident, state and region of its previous version
+     */
+    void add(int key, CompactAirport airport, CompactAirport previous) {
+        AirportDto current = airport.toDto();
+        AirportDto old = previous == null ? null : previous.toDto();
+
+        String faaIdent = normalize(current.iata());
+        String oldFaaIdent = old == null ? null : normalize(old.iata());
+        if (oldFaaIdent != null && !oldFaaIdent.equals(faaIdent)) {
+            byFaaIdent.remove(oldFaaIdent, key);
+        }
+        if (faaIdent != null) {
+            byFaaIdent.put(faaIdent, key);
+        }
+        move(byState, old == null ? null : old.state(), current.state(), key);
+        move(byRegion, old == null ? null : old.region(), current.region(), key);
+    }
+
+    void remove(int key, CompactAirport airport) {
+        AirportDto old = airport.toDto();
+        String faaIdent = normalize(old.iata());
+        if (faaIdent != null) {
+            byFaaIdent.remove(faaIdent, key);
+        }
+        move(byState, old.state(), null, key);
+        move(byRegion, old.region(), null, key);
+    }
+
+    /**
+     * Returns the airport with the FAA ident, ignoring case, or {@code null} when none is indexed
+     */
+    public AirportDto getByFaaIdent(String faaIdent) {
+        String normalized = normalize(faaIdent);
+        Integer key = normalized == null ? null : byFaaIdent.get(normalized);
+        CompactAirport airport = key == null ? null : airports.get(key);
+        return airport == null ? null : airport.toDto();
+    }
+
+    /**
+     * Returns up to {@code limit} airports of the state ordered by ICAO code, starting after the {@code cursor} code
+     */
+    public AirportPage findByState(String state, String cursor, int limit) {
+        return page(byState, state, cursor, limit);
+    }
+
+    /**
+     * Returns up to {@code limit} airports of the region ordered by ICAO code, starting after the {@code cursor} code
+     */
+    public AirportPage findByRegion(String region, String cursor, int limit) {
+        return page(byRegion, region, cursor, limit);
+    }
+
+    /**
+     * Lazily streams the indexed airports, optionally restricted to a state and/or region.
+     * The stream walks the live indexes without copying them, so airports added meanwhile may or may not appear.
+     */
+    public Stream<CompactAirport> stream(String state, String region) {
+        boolean filterState = normalize(state) != null;
+        boolean filterRegion = normalize(region) != null;
+        if (!filterState && !filterRegion) {
+            return airports.values().stream();
+        }
+        NavigableSet<Integer> stateKeys = members(byState, state);
+        NavigableSet<Integer> regionKeys = members(byRegion, region);
+        if ((filterState && stateKeys == null) || (filterRegion && regionKeys == null)) {
+            return Stream.empty();
+        }
+        Stream<Integer> keys = filterState ? stateKeys.stream() : regionKeys.stream();
+        if (filterState && filterRegion) {
+            keys = keys.filter(regionKeys::contains);
+        }
+        return keys.map(airports::get).filter(Objects::nonNull);
+    }
+
+    public int size() {
+        return airports.size();
+    }
+
+    private static NavigableSet<Integer> members(Map<String, NavigableSet<Integer>> index, String value) {
+        String normalized = normalize(value);
+        return normalized == null ? null : index.get(normalized);
+    }
+
+    private AirportPage page(Map<String, NavigableSet<Integer>> index, String value, String cursor, int limit) {
+        NavigableSet<Integer> keys = members(index, value);
+        if (keys == null) {
+            return new AirportPage(List.of(), null);
+        }
+        int after = IcaoKey.pack(cursor);
+        Iterator<Integer> iterator = after == IcaoKey.INVALID
+                ? keys.iterator() : keys.tailSet(after, false).iterator();
+
+        List<AirportDto> page = new ArrayList<>(Math.min(limit, 64));
+        Integer last = null;
+        while (iterator.hasNext() && page.size() < limit) {
+            Integer key = iterator.next();
+            CompactAirport airport = airports.get(key);
+            if (airport != null) {
+                page.add(airport.toDto());
+                last = key;
+            }
+        }
+        String nextCursor = last != null && iterator.hasNext() ? IcaoKey.unpack(last) : null;
+        return new AirportPage(page, nextCursor);
+    }
+
+    private static void move(Map<String, NavigableSet<Integer>> index, String oldValue, String newValue, int key) {
+        String from = normalize(oldValue);
+        String to = normalize(newValue);
+        if (from != null && !from.equals(to)) {
+            index.computeIfPresent(from, (value, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+        if (to != null) {
+            index.compute(to, (value, keys) -> {
+                NavigableSet<Integer> members = keys == null ? new ConcurrentSkipListSet<>() : keys;
+                members.add(key);
+                return members;
+            });
+        }
+    }
+
+    private static String normalize(String value) {
+        if (Objects.isNull(value) || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+}
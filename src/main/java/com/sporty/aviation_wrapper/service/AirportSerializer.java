@@ -0,0 +1,77 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sporty.aviation_wrapper.config.StageTimer;
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializes airports once per stored entry with the application's {@link ObjectMapper}, so the bytes are
+ * identical to what Spring MVC would write for the {@link AirportDto}.
+ * Producing a body is timed as a hit when the entry's bytes are reused and a miss when they are serialized.
+ */
+@Component
+public class AirportSerializer {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final boolean gzip;
+    private final StageTimer serializationTimer;
+
+    public AirportSerializer(ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${aviation.server.pre-serialized.enabled:true}") boolean enabled,
+            @Value("${aviation.server.pre-serialized.gzip:false}") boolean gzip) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.gzip = gzip;
+        this.serializationTimer = new StageTimer("airport_response_serialization",
+                "Production of a pre-serialized airport response body", meterRegistry, StageTimer.HIT, StageTimer.MISS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the serialized body of the entry, serializing it on the first call for this entry
+     */
+    public SerializedAirport serialized(CompactAirport airport) {
+        long start = System.nanoTime();
+        SerializedAirport serialized = airport.serializedIfPresent();
+        if (serialized != null) {
+            serializationTimer.record(StageTimer.HIT, start);
+            return serialized;
+        }
+        serialized = airport.serialized(this::serialize);
+        serializationTimer.record(StageTimer.MISS, start);
+        return serialized;
+    }
+
+    SerializedAirport serialize(AirportDto airport) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(airport);
+            return new SerializedAirport(json, gzip ? compress(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -1,56 +1,331 @@
 package com.sporty.aviation_wrapper.service;
 
 
-import com.sporty.aviation_wrapper.client.AviationApiClient;
+import com.sporty.aviation_wrapper.client.AviationApiBatchCollector;
+import com.sporty.aviation_wrapper.client.ReactiveAviationApiClient;
+import com.sporty.aviation_wrapper.config.CacheConfig;
+import com.sporty.aviation_wrapper.config.StageTimer;
+import com.sporty.aviation_wrapper.dto.AirportBatchResponse;
 import com.sporty.aviation_wrapper.dto.AirportDto;
+import com.sporty.aviation_wrapper.dto.AirportPage;
+import com.sporty.aviation_wrapper.dto.AviationApiResponse;
+import com.sporty.aviation_wrapper.dto.NearbyAirport;
 import com.sporty.aviation_wrapper.exception.AirportNotFoundException;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
- * Service layer for airport operations
+ * Service layer for airport operations.
+ * Lookups are asynchronous: cache hits complete immediately, misses complete when the
+ * non-blocking upstream call does, without holding a thread in between.
  */
 @Service
 public class AirportService {
 
     private static final Logger log = LoggerFactory.getLogger(AirportService.class);
 
-    private final AviationApiClient aviationApiClient;
+    private final ReactiveAviationApiClient aviationApiClient;
+    private final AviationApiBatchCollector batchCollector;
+    private final AirportDatasetIndex datasetIndex;
+    private final AirportIndexes indexes;
+    private final Cache airportCache;
+    private final Cache notFoundCache;
+    private final int batchSize;
+    private final RequestCoalescer<Integer, CompactAirport> loadCoalescer;
+    private final CacheRefresher<Integer> cacheRefresher;
     private final Counter requestCounter;
     private final Counter notFoundCounter;
+    private final StageTimer requestTimer;
+    private final StageTimer cacheLookupTimer;
 
-    public AirportService(AviationApiClient aviationApiClient, MeterRegistry meterRegistry) {
+    public AirportService(ReactiveAviationApiClient aviationApiClient,
+            AviationApiBatchCollector batchCollector,
+            AirportDatasetIndex datasetIndex,
+            AirportIndexes indexes,
+            CacheManager cacheManager,
+            MeterRegistry meterRegistry,
+            @Value("${aviation.api.batch-size:50}") int batchSize,
+            @Value("${aviation.cache.refresh.soft-ttl:0}") Duration refreshSoftTtl,
+            @Value("${aviation.cache.refresh.max-concurrency:4}") int refreshConcurrency) {
         this.aviationApiClient = aviationApiClient;
+        this.batchCollector = batchCollector;
+        this.datasetIndex = datasetIndex;
+        this.indexes = indexes;
+        this.airportCache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.AIRPORTS_CACHE));
+        this.notFoundCache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.AIRPORTS_NOT_FOUND_CACHE));
+        this.batchSize = Math.max(batchSize, 1);
+        this.loadCoalescer = new RequestCoalescer<>("airport_load", meterRegistry);
+        this.cacheRefresher = new CacheRefresher<>("airport_cache", airportCache, refreshSoftTtl,
+                refreshConcurrency, meterRegistry);
         this.requestCounter = Counter.builder("airport_requests_total")
                 .description("Total number of airport requests")
                 .register(meterRegistry);
         this.notFoundCounter = Counter.builder("airport_not_found_total")
                 .description("Total number of airport not found responses")
                 .register(meterRegistry);
+        this.requestTimer = new StageTimer("airport_request", "Single airport lookup from request to result",
+                meterRegistry, StageTimer.HIT, StageTimer.MISS, StageTimer.NOT_FOUND, StageTimer.ERROR,
+                StageTimer.CIRCUIT_OPEN, StageTimer.REJECTED);
+        this.cacheLookupTimer = new StageTimer("airport_cache_lookup",
+                "Local dataset, cache and negative cache probe of an airport lookup",
+                meterRegistry, StageTimer.HIT, StageTimer.MISS, StageTimer.NOT_FOUND);
     }
 
     /**
-     * Retrieves airport information by ICAO code
-     * Results are cached for 15 minutes to reduce upstream calls
+     * Retrieves airport information by ICAO code, codes present in the local dataset are answered from it.
+     * Results are cached to reduce upstream calls, concurrent misses for the same code share
+     * a single upstream load. Entries past the soft TTL are served while they are reloaded in the background.
+     * Codes recently reported unknown by upstream fail with {@link AirportNotFoundException} without an upstream call.
+     * Caches, index and in-flight loads are keyed by the packed {@link IcaoKey}, so lookups are case-insensitive.
+     * The whole lookup and its local probe are timed by outcome ({@code airport_request}, {@code airport_cache_lookup}).
      */
-    @Cacheable(value = "airports", key = "#icaoCode", unless = "#result == null")
-    public AirportDto getAirportByIcao(String icaoCode) {
-        log.info("Retrieving airport information for ICAO code: {}", icaoCode);
+    public CompletableFuture<AirportDto> getAirportByIcao(String icaoCode) {
+        return getAirportEntryByIcao(icaoCode).thenApply(CompactAirport::toDto);
+    }
+
+    /**
+     * Same lookup as {@link #getAirportByIcao(String)}, returning the stored entry with its precomputed ETag
+     */
+    public CompletableFuture<CompactAirport> getAirportEntryByIcao(String icaoCode) {
+        log.debug("Retrieving airport information for ICAO code: {}", icaoCode);
         requestCounter.increment();
+        long start = System.nanoTime();
+
+        int packedKey = IcaoKey.pack(icaoCode);
+        if (packedKey == IcaoKey.INVALID) {
+            notFoundCounter.increment();
+            requestTimer.record(StageTimer.NOT_FOUND, start);
+            return CompletableFuture.failedFuture(new AirportNotFoundException(icaoCode));
+        }
+        Integer key = packedKey;
+        CompactAirport local = datasetIndex.getEntry(key);
+        if (local == null) {
+            local = airportCache.get(key, CompactAirport.class);
+            if (local != null) {
+                refreshIfStale(key);
+            }
+        }
+        if (local != null) {
+            cacheLookupTimer.record(StageTimer.HIT, start);
+            requestTimer.record(StageTimer.HIT, start);
+            return CompletableFuture.completedFuture(local);
+        }
+        if (isKnownNotFound(key)) {
+            notFoundCounter.increment();
+            cacheLookupTimer.record(StageTimer.NOT_FOUND, start);
+            requestTimer.record(StageTimer.NOT_FOUND, start);
+            return CompletableFuture.failedFuture(new AirportNotFoundException(IcaoKey.unpack(key)));
+        }
+        cacheLookupTimer.record(StageTimer.MISS, start);
+        return loadCoalescer.execute(key, () -> loadAirport(key)).whenComplete((airport, error) ->
+                requestTimer.record(error == null ? StageTimer.MISS : StageTimer.outcomeOf(error), start));
+    }
+
+    /**
+     * Retrieves several airports at once. Indexed and cached codes are served locally, the misses are
+     * fetched upstream in chunks of {@code aviation.api.batch-size} codes per call, codes recently
+     * reported unknown are answered from the negative cache.
+     * Failures are reported per code instead of failing the whole batch.
+     */
+    public CompletableFuture<AirportBatchResponse> getAirportsByIcao(Collection<String> icaoCodes) {
+        log.info("Retrieving airport information for {} ICAO codes", icaoCodes.size());
+
+        Map<String, AirportDto> airports = new LinkedHashMap<>();
+        Map<String, AirportBatchResponse.Failure> errors = new LinkedHashMap<>();
+        LinkedHashSet<String> misses = new LinkedHashSet<>();
+        int knownNotFound = 0;
+
+        for (String icaoCode : icaoCodes) {
+            int packedKey = IcaoKey.pack(icaoCode);
+            if (packedKey == IcaoKey.INVALID) {
+                errors.put(String.valueOf(icaoCode), new AirportBatchResponse.Failure(
+                        HttpStatus.BAD_REQUEST.value(), "ICAO code must contain exactly 4 letters"));
+                continue;
+            }
+            Integer key = packedKey;
+            String normalizedCode = IcaoKey.unpack(key);
+            AirportDto indexed = datasetIndex.get(key);
+            if (indexed != null) {
+                airports.put(normalizedCode, indexed);
+                continue;
+            }
+            AirportDto cached = cachedAirport(key);
+            if (cached != null) {
+                refreshIfStale(key);
+                airports.put(normalizedCode, cached);
+            } else if (isKnownNotFound(key)) {
+                knownNotFound++;
+                notFoundCounter.increment();
+                errors.put(normalizedCode, notFound(normalizedCode));
+            } else {
+                misses.add(normalizedCode);
+            }
+        }
+        requestCounter.increment(airports.size() + misses.size() + knownNotFound);
+
+        List<String> missList = List.copyOf(misses);
+        List<ChunkFetch> fetches = new ArrayList<>();
+        for (int from = 0; from < missList.size(); from += batchSize) {
+            List<String> chunk = missList.subList(from, Math.min(from + batchSize, missList.size()));
+            fetches.add(new ChunkFetch(chunk, aviationApiClient.getAirportsByIcaoCodes(chunk).toFuture()));
+        }
+
+        return CompletableFuture.allOf(fetches.stream().map(ChunkFetch::result).toArray(CompletableFuture[]::new))
+                .handle((ignored, error) -> {
+                    fetches.forEach(fetch -> collectChunk(fetch, airports, errors));
+                    return new AirportBatchResponse(airports, errors);
+                });
+    }
+
+    /**
+     * Finds the indexed airports within {@code radiusKm} of a point, nearest first.
+     * Only airports already cached or present in the local dataset are searched, no upstream call is made.
+     */
+    public List<NearbyAirport> findAirportsWithinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        log.info("Searching airports within {} km of {},{}", radiusKm, latitude, longitude);
+        return indexes.spatial().findWithinRadius(latitude, longitude, radiusKm, limit);
+    }
+
+    /**
+     * Finds the {@code k} indexed airports nearest to a point, nearest first
+     */
+    public List<NearbyAirport> findNearestAirports(double latitude, double longitude, int k) {
+        log.info("Searching the {} airports nearest to {},{}", k, latitude, longitude);
+        return indexes.spatial().findNearest(latitude, longitude, k);
+    }
+
+    /**
+     * Type-ahead search over the ident, facility name and city of cached or locally indexed airports,
+     * ranked and limited to {@code limit} results; no upstream call is made
+     */
+    public List<AirportDto> searchAirports(String query, int limit) {
+        log.debug("Searching airports matching '{}'", query);
+        return indexes.search().search(query, limit);
+    }
 
-        var airportsByIcao = aviationApiClient.getAirportsByIcao(icaoCode.toUpperCase());
-        if(Objects.isNull(airportsByIcao)){
+    /**
+     * Retrieves a cached or locally indexed airport by its FAA ident, ignoring case
+     */
+    public AirportDto getAirportByFaaIdent(String faaIdent) {
+        log.info("Retrieving airport information for FAA ident: {}", faaIdent);
+        requestCounter.increment();
+        AirportDto airport = indexes.secondary().getByFaaIdent(faaIdent);
+        if (airport == null) {
             notFoundCounter.increment();
-            throw new AirportNotFoundException(icaoCode);
+            throw new AirportNotFoundException("FAA ident", faaIdent);
         }
+        return airport;
+    }
+
+    /**
+     * Lists cached or locally indexed airports of a state ordered by ICAO code, one page at a time
+     */
+    public AirportPage getAirportsByState(String state, String cursor, int limit) {
+        log.info("Listing airports in state {} after {}", state, cursor);
+        return indexes.secondary().findByState(state, cursor, limit);
+    }
+
+    /**
+     * Lists cached or locally indexed airports of a region ordered by ICAO code, one page at a time
+     */
+    public AirportPage getAirportsByRegion(String region, String cursor, int limit) {
+        log.info("Listing airports in region {} after {}", region, cursor);
+        return indexes.secondary().findByRegion(region, cursor, limit);
+    }
+
+    private void collectChunk(ChunkFetch fetch, Map<String, AirportDto> airports,
+            Map<String, AirportBatchResponse.Failure> errors) {
+        Map<String, AviationApiResponse> fetched;
+        try {
+            fetched = fetch.result().join();
+        } catch (CompletionException e) {
+            log.warn("Batch fetch of {} ICAO codes failed: {}", fetch.icaoCodes().size(), e.getCause().getMessage());
+            fetch.icaoCodes().forEach(icaoCode -> errors.put(icaoCode, new AirportBatchResponse.Failure(
+                    HttpStatus.SERVICE_UNAVAILABLE.value(), e.getCause().getMessage())));
+            return;
+        }
+
+        for (String icaoCode : fetch.icaoCodes()) {
+            AviationApiResponse response = fetched.get(icaoCode);
+            Integer key = IcaoKey.pack(icaoCode);
+            if (response == null) {
+                notFoundCounter.increment();
+                notFoundCache.put(key, Boolean.TRUE);
+                errors.put(icaoCode, notFound(icaoCode));
+            } else {
+                AirportDto airport = response.toDto();
+                cacheAirport(key, airport);
+                airports.put(icaoCode, airport);
+            }
+        }
+    }
+
+    private AirportDto cachedAirport(Integer key) {
+        CompactAirport cached = airportCache.get(key, CompactAirport.class);
+        return cached == null ? null : cached.toDto();
+    }
+
+    private CompactAirport cacheAirport(Integer key, AirportDto airport) {
+        CompactAirport entry = CompactAirport.of(airport);
+        // Indexed first, so an eviction right after the put finds the entry to remove
+        indexes.add(entry);
+        airportCache.put(key, entry);
+        cacheRefresher.written(key);
+        return entry;
+    }
+
+    /**
+     * Lets an airport restored from the cache snapshot keep the age it had when saved, so a stale one is refreshed
+     */
+    void restoreAge(Integer key, Duration age) {
+        cacheRefresher.restoreAge(key, age);
+    }
+
+    private boolean isKnownNotFound(Integer key) {
+        return notFoundCache.get(key) != null;
+    }
+
+    private static AirportBatchResponse.Failure notFound(String icaoCode) {
+        return new AirportBatchResponse.Failure(
+                HttpStatus.NOT_FOUND.value(), new AirportNotFoundException(icaoCode).getMessage());
+    }
+
+    private void refreshIfStale(Integer key) {
+        cacheRefresher.refreshIfStale(key, () -> loadCoalescer.execute(key, () -> loadAirport(key)));
+    }
+
+    private CompletableFuture<CompactAirport> loadAirport(Integer key) {
+        String icaoCode = IcaoKey.unpack(key);
+        return batchCollector.fetch(icaoCode).thenApply(airportsByIcao -> {
+            if(Objects.isNull(airportsByIcao)){
+                notFoundCounter.increment();
+                notFoundCache.put(key, Boolean.TRUE);
+                throw new AirportNotFoundException(icaoCode);
+            }
+
+            return cacheAirport(key, airportsByIcao.toDto());
+        });
+    }
 
-        return airportsByIcao.toDto();
+    private record ChunkFetch(List<String> icaoCodes, CompletableFuture<Map<String, AviationApiResponse>> result) {
     }
 
-}
\ No newline at end of file
+}
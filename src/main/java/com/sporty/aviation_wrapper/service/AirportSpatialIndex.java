@@ -0,0 +1,146 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.sporty.aviation_wrapper.dto.NearbyAirport;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Geospatial index over every airport that entered the cache or the local dataset.
+ * Airports are bucketed in a grid of one-degree cells; a query only scans the cells overlapping the bounding
+ * box of its search circle and filters them by great-circle distance. Adding an airport that is already
+ * indexed moves it to its new cell, so the index is updated incrementally as airports are cached and evicted.
+ * Cells hold packed ICAO keys, the airports themselves are read from the store shared by {@link AirportIndexes}.
+ */
+public class AirportSpatialIndex {
+
+    private static final int LONGITUDE_CELLS = 360;
+    private static final int LATITUDE_CELLS = 180;
+    private static final double KM_PER_DEGREE = Math.PI * GeoPoint.EARTH_RADIUS_KM / 180;
+    private static final double HALF_CIRCUMFERENCE_KM = Math.PI * GeoPoint.EARTH_RADIUS_KM;
+    private static final double INITIAL_NEAREST_RADIUS_KM = 50;
+    private static final Comparator<NearbyAirport> BY_DISTANCE = Comparator.comparingDouble(NearbyAirport::distanceKm);
+
+    private final Map<Integer, CompactAirport> airports;
+    private final Map<Integer, Set<Integer>> cells = new ConcurrentHashMap<>();
+    private final Map<Integer, GeoPoint> positions = new ConcurrentHashMap<>();
+
+    AirportSpatialIndex(Map<Integer, CompactAirport> airports, MeterRegistry meterRegistry) {
+        this.airports = airports;
+        Gauge.builder("airport_spatial_index_size", positions, Map::size)
+                .description("Number of airports in the geospatial index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indexes or moves an airport, airports without usable coordinates are left out
+     */
+    void add(int key, CompactAirport airport) {
+        GeoPoint position = airport.position();
+        GeoPoint previous = position == null ? positions.remove(key) : positions.put(key, position);
+        if (previous != null && (position == null || cellOf(previous) != cellOf(position))) {
+            leaveCell(cellOf(previous), key);
+        }
+        if (position != null) {
+            cells.computeIfAbsent(cellOf(position), cell -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    void remove(int key) {
+        GeoPoint previous = positions.remove(key);
+        if (previous != null) {
+            leaveCell(cellOf(previous), key);
+        }
+    }
+
+    /**
+     * Returns the airports within the radius of the point, nearest first, at most {@code limit} of them
+     */
+    public List<NearbyAirport> findWithinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        List<NearbyAirport> found = scan(new GeoPoint(latitude, longitude), radiusKm);
+        found.sort(BY_DISTANCE);
+        return found.size() > limit ? List.copyOf(found.subList(0, limit)) : found;
+    }
+
+    /**
+     * Returns the {@code k} airports nearest to the point, nearest first.
+     * The search radius doubles until it holds {@code k} airports, every airport inside a radius is scanned,
+     * so the first {@code k} by distance are the true nearest.
+     */
+    public List<NearbyAirport> findNearest(double latitude, double longitude, int k) {
+        GeoPoint origin = new GeoPoint(latitude, longitude);
+        double radiusKm = INITIAL_NEAREST_RADIUS_KM;
+        List<NearbyAirport> found = scan(origin, radiusKm);
+        while (found.size() < k && radiusKm < HALF_CIRCUMFERENCE_KM) {
+            radiusKm *= 2;
+            found = scan(origin, radiusKm);
+        }
+        found.sort(BY_DISTANCE);
+        return found.size() > k ? List.copyOf(found.subList(0, k)) : found;
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    private List<NearbyAirport> scan(GeoPoint origin, double radiusKm) {
+        List<NearbyAirport> found = new ArrayList<>();
+        double latitudeDelta = radiusKm / KM_PER_DEGREE;
+        int minRow = row(Math.max(-90, origin.latitude() - latitudeDelta));
+        int maxRow = row(Math.min(90, origin.latitude() + latitudeDelta));
+
+        // Longitude degrees shrink towards the poles, widen the box by the cosine of the most poleward latitude
+        double poleward = Math.min(90, Math.abs(origin.latitude()) + latitudeDelta);
+        double cosine = Math.cos(Math.toRadians(poleward));
+        double longitudeDelta = cosine < 1e-6 ? 180 : latitudeDelta / cosine;
+        int columnSpan = longitudeDelta >= 180 ? LONGITUDE_CELLS : (int) Math.ceil(longitudeDelta) * 2 + 1;
+        int firstColumn = column(origin.longitude() - Math.min(longitudeDelta, 180));
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int offset = 0; offset < Math.min(columnSpan, LONGITUDE_CELLS); offset++) {
+                int column = Math.floorMod(firstColumn + offset, LONGITUDE_CELLS);
+                Set<Integer> members = cells.get(row * LONGITUDE_CELLS + column);
+                if (members == null) {
+                    continue;
+                }
+                for (Integer key : members) {
+                    GeoPoint position = positions.get(key);
+                    CompactAirport airport = airports.get(key);
+                    if (position == null || airport == null) {
+                        continue;
+                    }
+                    double distanceKm = origin.distanceKm(position.latitude(), position.longitude());
+                    if (distanceKm <= radiusKm) {
+                        found.add(new NearbyAirport(airport.toDto(), distanceKm));
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private void leaveCell(int cell, int key) {
+        cells.computeIfPresent(cell, (ignored, members) -> {
+            members.remove(key);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private static int cellOf(GeoPoint position) {
+        return row(position.latitude()) * LONGITUDE_CELLS + column(position.longitude());
+    }
+
+    private static int row(double latitude) {
+        return Math.min(LATITUDE_CELLS - 1, (int) Math.floor(latitude + 90));
+    }
+
+    private static int column(double longitude) {
+        return Math.floorMod((int) Math.floor(longitude + 180), LONGITUDE_CELLS);
+    }
+}
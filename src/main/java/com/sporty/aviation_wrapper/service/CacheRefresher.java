@@ -0,0 +1,138 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Stale-while-revalidate for a Caffeine backed cache.
+ * Entries older than the soft TTL are still served, and a background reload replaces them. The cache's own
+ * {@code expireAfterWrite} acts as the hard TTL after which nothing stale is served. At most
+ * {@code maxConcurrency} refreshes run at once, a stale entry whose refresh is rejected is retried on a later hit.
+ * Entries restored from a snapshot carry the age they had when saved, until they are written again.
+ */
+public class CacheRefresher<K> {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheRefresher.class);
+
+    private final Policy.FixedExpiration<Object, Object> writeAge;
+    private final long softTtlNanos;
+    private final Semaphore permits;
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+    private final Map<K, Long> restoredAges = new ConcurrentHashMap<>();
+    private final Timer staleAgeTimer;
+    private final Counter successCounter;
+    private final Counter failureCounter;
+    private final Counter rejectedCounter;
+
+    public CacheRefresher(String name, Cache cache, Duration softTtl, int maxConcurrency, MeterRegistry meterRegistry) {
+        boolean enabled = !softTtl.isZero() && !softTtl.isNegative();
+        this.writeAge = enabled ? writeAgePolicy(cache) : null;
+        this.softTtlNanos = softTtl.toNanos();
+        this.permits = new Semaphore(Math.max(maxConcurrency, 1));
+        this.staleAgeTimer = Timer.builder(name + "_stale_age")
+                .description("Age of entries served past their soft TTL")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.successCounter = refreshCounter(name, "success", meterRegistry);
+        this.failureCounter = refreshCounter(name, "failure", meterRegistry);
+        this.rejectedCounter = refreshCounter(name, "rejected", meterRegistry);
+        if (enabled && writeAge == null) {
+            log.warn("Cache '{}' has no expireAfterWrite policy, stale entries will not be refreshed", cache.getName());
+        }
+    }
+
+    /**
+     * Starts a background reload of the key when its cached entry is past the soft TTL.
+     * The loader is expected to write the fresh value to the cache, a failed reload leaves the stale entry in place.
+     */
+    public void refreshIfStale(K key, Supplier<? extends CompletableFuture<?>> loader) {
+        if (writeAge == null) {
+            return;
+        }
+        OptionalLong cachedAge = writeAge.ageOf(key, TimeUnit.NANOSECONDS);
+        if (cachedAge.isEmpty()) {
+            return;
+        }
+        long age = cachedAge.getAsLong() + restoredAges.getOrDefault(key, 0L);
+        if (age < softTtlNanos) {
+            return;
+        }
+        staleAgeTimer.record(age, TimeUnit.NANOSECONDS);
+
+        if (!refreshing.add(key)) {
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            refreshing.remove(key);
+            rejectedCounter.increment();
+            return;
+        }
+
+        CompletableFuture<?> reload;
+        try {
+            reload = loader.get();
+        } catch (RuntimeException e) {
+            reload = CompletableFuture.failedFuture(e);
+        }
+        reload.whenComplete((value, error) -> {
+            refreshing.remove(key);
+            permits.release();
+            if (error != null) {
+                failureCounter.increment();
+                log.warn("Background refresh of '{}' failed, serving stale entry: {}", key, error.getMessage());
+            } else {
+                successCounter.increment();
+            }
+        });
+    }
+
+    /**
+     * Adds the age an entry had before it was restored to the age the cache reports for it
+     */
+    public void restoreAge(K key, Duration age) {
+        if (writeAge != null) {
+            restoredAges.put(key, age.toNanos());
+        }
+    }
+
+    /**
+     * Forgets the restored age of a key written again, called after every cache write
+     */
+    public void written(K key) {
+        if (!restoredAges.isEmpty()) {
+            restoredAges.remove(key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Policy.FixedExpiration<Object, Object> writeAgePolicy(Cache cache) {
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+            Optional<? extends Policy.FixedExpiration<?, ?>> expiration = caffeineCache.policy().expireAfterWrite();
+            return (Policy.FixedExpiration<Object, Object>) expiration.orElse(null);
+        }
+        return null;
+    }
+
+    private static Counter refreshCounter(String name, String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder(name + "_refresh_total")
+                .description("Background refreshes of stale cache entries")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
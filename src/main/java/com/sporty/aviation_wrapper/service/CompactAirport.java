@@ -0,0 +1,171 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.sporty.aviation_wrapper.dto.AirportDto;
+
+import java.util.function.Function;
+
+/**
+ * Cache representation of an airport.
+ * Region, district office, state and full state name are codes into a shared {@link StringDictionary}; these
+ * have a few hundred distinct values at most, while city and county are close to one per airport and are kept
+ * as plain strings so the never-evicted dictionary stays bounded. Elevation is an int. {@link AirportDto} is
+ * only materialized on read.
+ * Coordinates are parsed through {@link GeoPoint} and kept as doubles with a one-byte {@link CoordinateFormat}
+ * that rebuilds the upstream text; upstream writes degree-minute-second strings ({@code 39-08-10.9000N}), which
+ * take this path like plain decimals do. Only text the format cannot rebuild exactly, or coordinates
+ * {@link GeoPoint} rejects, are kept as strings.
+ * A 64-bit hash of the content is computed once per entry and served as the strong HTTP ETag.
+ * The serialized response body is attached on the first hit, so only airports that are actually served pay for it.
+ */
+public final class CompactAirport {
+
+    private static final StringDictionary CATEGORIES = new StringDictionary();
+    // Compressed oops, the default below a 32 GB heap
+    private static final int REFERENCE_BYTES = 4;
+    private static final int NO_ELEVATION = Integer.MIN_VALUE;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final String icao;
+    private final String iata;
+    private final String facilityName;
+    private final int region;
+    private final int districtOffice;
+    private final int state;
+    private final int stateFull;
+    private final String city;
+    private final String county;
+    private final double latitude;
+    private final double longitude;
+    private final byte latitudeFormat;
+    private final byte longitudeFormat;
+    private final String latitudeText;
+    private final String longitudeText;
+    private final int elevation;
+    private final long contentHash;
+    private volatile SerializedAirport serialized;
+
+    private CompactAirport(AirportDto airport) {
+        this.icao = airport.icao();
+        this.iata = airport.iata();
+        this.facilityName = airport.facility_name();
+        this.region = CATEGORIES.encode(airport.region());
+        this.districtOffice = CATEGORIES.encode(airport.district_office());
+        this.state = CATEGORIES.encode(airport.state());
+        this.stateFull = CATEGORIES.encode(airport.state_full());
+        this.city = airport.city();
+        this.county = airport.county();
+        GeoPoint position = GeoPoint.parse(airport.latitude(), airport.longitude());
+        this.latitude = position == null ? Double.NaN : position.latitude();
+        this.longitude = position == null ? Double.NaN : position.longitude();
+        this.latitudeFormat = position == null
+                ? CoordinateFormat.TEXT : CoordinateFormat.of(airport.latitude(), latitude, 'N', 'S');
+        this.longitudeFormat = position == null
+                ? CoordinateFormat.TEXT : CoordinateFormat.of(airport.longitude(), longitude, 'E', 'W');
+        this.latitudeText = latitudeFormat == CoordinateFormat.TEXT ? airport.latitude() : null;
+        this.longitudeText = longitudeFormat == CoordinateFormat.TEXT ? airport.longitude() : null;
+        this.elevation = airport.elevation() == null ? NO_ELEVATION : airport.elevation();
+        this.contentHash = contentHash(airport);
+    }
+
+    public static CompactAirport of(AirportDto airport) {
+        return new CompactAirport(airport);
+    }
+
+    public AirportDto toDto() {
+        return new AirportDto(icao, iata, facilityName,
+                CATEGORIES.decode(region), CATEGORIES.decode(districtOffice), CATEGORIES.decode(state),
+                CATEGORIES.decode(stateFull), city, county,
+                latitudeFormat == CoordinateFormat.TEXT
+                        ? latitudeText : CoordinateFormat.format(latitude, latitudeFormat, 'N', 'S'),
+                longitudeFormat == CoordinateFormat.TEXT
+                        ? longitudeText : CoordinateFormat.format(longitude, longitudeFormat, 'E', 'W'),
+                elevation == NO_ELEVATION ? null : elevation);
+    }
+
+    /**
+     * Parsed position, {@code null} when upstream gave no usable coordinates
+     */
+    GeoPoint position() {
+        return Double.isNaN(latitude) ? null : new GeoPoint(latitude, longitude);
+    }
+
+    String icao() {
+        return icao;
+    }
+
+    /**
+     * Strong ETag of the airport, equal for equal content
+     */
+    public String etag() {
+        return '"' + Long.toHexString(contentHash) + '"';
+    }
+
+    /**
+     * Whether both entries hold the same airport data, compared by content hash
+     */
+    boolean hasSameContent(CompactAirport other) {
+        return contentHash == other.contentHash;
+    }
+
+    /**
+     * Returns the serialized response body if an earlier call created it, {@code null} otherwise
+     */
+    SerializedAirport serializedIfPresent() {
+        return serialized;
+    }
+
+    /**
+     * Returns the serialized response body, created by the serializer on the first call and kept for the
+     * lifetime of this entry; concurrent first calls may both serialize, which is harmless
+     */
+    SerializedAirport serialized(Function<AirportDto, SerializedAirport> serializer) {
+        SerializedAirport current = serialized;
+        if (current == null) {
+            current = serializer.apply(toDto());
+            serialized = current;
+        }
+        return current;
+    }
+
+    /**
+     * Approximate retained size in bytes, excluding the shared dictionary and the serialized body attached later
+     */
+    public int retainedSize(int objectOverhead, int stringOverhead) {
+        int fields = 8 * REFERENCE_BYTES // icao, iata, facilityName, city, county, both coordinate texts, serialized
+                + 5 * Integer.BYTES // four dictionary codes and the elevation
+                + 2 * Double.BYTES + 2 * Byte.BYTES // coordinates and their formats
+                + Long.BYTES; // content hash
+        return objectOverhead + fields
+                + stringSize(icao, stringOverhead) + stringSize(iata, stringOverhead)
+                + stringSize(facilityName, stringOverhead) + stringSize(city, stringOverhead)
+                + stringSize(county, stringOverhead) + stringSize(latitudeText, stringOverhead)
+                + stringSize(longitudeText, stringOverhead);
+    }
+
+    /**
+     * FNV-1a over every field as it is returned to clients, a separator keeps {@code "ab","c"} apart from
+     * {@code "a","bc"} and null apart from the empty string
+     */
+    private static long contentHash(AirportDto airport) {
+        long hash = FNV_OFFSET_BASIS;
+        for (String field : new String[] {airport.icao(), airport.iata(), airport.facility_name(), airport.region(),
+                airport.district_office(), airport.state(), airport.state_full(), airport.city(), airport.county(),
+                airport.latitude(), airport.longitude(),
+                airport.elevation() == null ? null : airport.elevation().toString()}) {
+            if (field == null) {
+                hash = (hash ^ 0xFFFF) * FNV_PRIME;
+            } else {
+                for (int i = 0; i < field.length(); i++) {
+                    hash = (hash ^ field.charAt(i)) * FNV_PRIME;
+                }
+            }
+            hash = (hash ^ 0x1F) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static int stringSize(String value, int stringOverhead) {
+        return value == null ? 0 : stringOverhead + value.length();
+    }
+}
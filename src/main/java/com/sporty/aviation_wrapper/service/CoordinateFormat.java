@@ -0,0 +1,84 @@
+package com.sporty.aviation_wrapper.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * One-byte description of how upstream wrote a coordinate, either decimal degrees with a number of fraction
+ * digits ({@code 39.1361}, {@code 0.0000}) or degree-minute-second with a degree width and a number of
+ * fraction digits of the seconds ({@code 39-08-10.9000N}), so the text can be rebuilt from the parsed value.
+ * A format is only handed out when rebuilding gives back the exact same text.
+ */
+final class CoordinateFormat {
+
+    /**
+     * The text cannot be rebuilt from the value and has to be kept
+     */
+    static final byte TEXT = -1;
+
+    private static final int DMS = 0x40;
+    private static final int MAX_FRACTION_DIGITS = 15;
+    private static final BigDecimal SECONDS_PER_DEGREE = BigDecimal.valueOf(3600);
+    private static final BigDecimal SECONDS_PER_MINUTE = BigDecimal.valueOf(60);
+
+    private CoordinateFormat() {
+    }
+
+    /**
+     * Returns the format that rebuilds the text from the value, {@link #TEXT} when there is none
+     */
+    static byte of(String text, double value, char positive, char negative) {
+        byte format = describe(text, positive, negative);
+        return format != TEXT && text.equals(format(value, format, positive, negative)) ? format : TEXT;
+    }
+
+    static String format(double value, byte format, char positive, char negative) {
+        int fractionDigits = format & 0x0F;
+        if ((format & DMS) == 0) {
+            return BigDecimal.valueOf(value).setScale(fractionDigits, RoundingMode.HALF_EVEN).toPlainString();
+        }
+
+        // Round the total seconds once, so a carry moves into the minutes and degrees instead of printing 60
+        BigDecimal seconds = BigDecimal.valueOf(Math.abs(value)).multiply(SECONDS_PER_DEGREE)
+                .setScale(fractionDigits, RoundingMode.HALF_EVEN);
+        BigDecimal[] degrees = seconds.divideAndRemainder(SECONDS_PER_DEGREE);
+        BigDecimal[] minutes = degrees[1].divideAndRemainder(SECONDS_PER_MINUTE);
+        StringBuilder text = new StringBuilder(16);
+        pad(text, degrees[0].toBigInteger().toString(), (format >> 4) & 0x03).append('-');
+        pad(text, minutes[0].toBigInteger().toString(), 2).append('-');
+        String wholeSeconds = minutes[1].setScale(fractionDigits, RoundingMode.UNNECESSARY).toPlainString();
+        int integerDigits = fractionDigits == 0 ? wholeSeconds.length() : wholeSeconds.indexOf('.');
+        for (int i = integerDigits; i < 2; i++) {
+            text.append('0');
+        }
+        text.append(wholeSeconds);
+        // The sign of -0.0 keeps the hemisphere of a coordinate on the equator or the prime meridian
+        return text.append(Double.doubleToRawLongBits(value) < 0 ? negative : positive).toString();
+    }
+
+    private static byte describe(String text, char positive, char negative) {
+        int end = text.length() - 1;
+        if (end < 0) {
+            return TEXT;
+        }
+        char hemisphere = text.charAt(end);
+        boolean dms = hemisphere == positive || hemisphere == negative;
+        int point = text.indexOf('.');
+        int fractionDigits = point < 0 ? 0 : (dms ? end : text.length()) - point - 1;
+        if (fractionDigits > MAX_FRACTION_DIGITS) {
+            return TEXT;
+        }
+        if (!dms) {
+            return (byte) fractionDigits;
+        }
+        int degreeWidth = text.indexOf('-');
+        return degreeWidth < 1 || degreeWidth > 3 ? TEXT : (byte) (DMS | degreeWidth << 4 | fractionDigits);
+    }
+
+    private static StringBuilder pad(StringBuilder text, String digits, int width) {
+        for (int i = digits.length(); i < width; i++) {
+            text.append('0');
+        }
+        return text.append(digits);
+    }
+}
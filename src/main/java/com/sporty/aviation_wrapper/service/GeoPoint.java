@@ -0,0 +1,65 @@
+package com.sporty.aviation_wrapper.service;
+
+/**
+ * Latitude/longitude in decimal degrees
+ */
+record GeoPoint(double latitude, double longitude) {
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /**
+     * Parses upstream coordinates, either decimal degrees ({@code 39.1361}) or degree-minute-second
+     * strings with a hemisphere suffix ({@code 39-08-10.9000N}). Returns {@code null} when either is unusable.
+     */
+    static GeoPoint parse(String latitude, String longitude) {
+        double lat = parseCoordinate(latitude, 'N', 'S');
+        double lon = parseCoordinate(longitude, 'E', 'W');
+        if (Double.isNaN(lat) || Double.isNaN(lon) || Math.abs(lat) > 90 || Math.abs(lon) > 180) {
+            return null;
+        }
+        return new GeoPoint(lat, lon);
+    }
+
+    /**
+     * Great-circle distance in kilometres (haversine)
+     */
+    double distanceKm(double otherLatitude, double otherLongitude) {
+        double dLat = Math.toRadians(otherLatitude - latitude);
+        double dLon = Math.toRadians(otherLongitude - longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(otherLatitude))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static double parseCoordinate(String value, char positive, char negative) {
+        if (value == null || value.isBlank()) {
+            return Double.NaN;
+        }
+        String text = value.trim();
+        char hemisphere = Character.toUpperCase(text.charAt(text.length() - 1));
+        if (hemisphere != positive && hemisphere != negative) {
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+
+        String[] parts = text.substring(0, text.length() - 1).split("-");
+        if (parts.length == 0 || parts.length > 3) {
+            return Double.NaN;
+        }
+        try {
+            double degrees = 0;
+            double unit = 1;
+            for (String part : parts) {
+                degrees += Double.parseDouble(part) / unit;
+                unit *= 60;
+            }
+            return hemisphere == negative ? -degrees : degrees;
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.sporty.aviation_wrapper.service;
+
+/**
+ * Canonical, case-insensitive key for 4-letter ICAO codes.
+ * Each letter takes 5 bits, so a code packs into the low 20 bits of an int: {@code kbab}, {@code KBAB} and
+ * {@code KbAb} share one key, hashing is the int itself and no upper-cased string is allocated per lookup.
+ */
+final class IcaoKey {
+
+    static final int INVALID = -1;
+
+    private static final int LENGTH = 4;
+    private static final int BITS_PER_LETTER = 5;
+    private static final int LETTER_MASK = (1 << BITS_PER_LETTER) - 1;
+
+    private IcaoKey() {
+    }
+
+    /**
+     * Returns the packed key, or {@link #INVALID} unless the code is exactly four ASCII letters
+     */
+    static int pack(CharSequence icaoCode) {
+        if (icaoCode == null || icaoCode.length() != LENGTH) {
+            return INVALID;
+        }
+        int key = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            // Setting bit 0x20 lower-cases ASCII letters, anything else lands outside a..z
+            int letter = (icaoCode.charAt(i) | 0x20) - 'a';
+            if (letter < 0 || letter >= 26) {
+                return INVALID;
+            }
+            key = key << BITS_PER_LETTER | letter;
+        }
+        return key;
+    }
+
+    /**
+     * Returns the upper-case ICAO code of a packed key
+     */
+    static String unpack(int key) {
+        char[] letters = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            letters[i] = (char) ('A' + (key & LETTER_MASK));
+            key >>>= BITS_PER_LETTER;
+        }
+        return new String(letters);
+    }
+}
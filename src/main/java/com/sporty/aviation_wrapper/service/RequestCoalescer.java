@@ -0,0 +1,57 @@
+package com.sporty.aviation_wrapper.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of loads per key.
+ * The first caller for a key performs the load, concurrent callers for the same key
+ * wait on that load and receive its result or its failure.
+ */
+public class RequestCoalescer<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+
+    public RequestCoalescer(String name, MeterRegistry meterRegistry) {
+        this.coalescedCounter = Counter.builder(name + "_coalesced_total")
+                .description("Number of calls that joined an in-flight load instead of starting a new one")
+                .register(meterRegistry);
+        Gauge.builder(name + "_in_flight", inFlight, Map::size)
+                .description("Number of loads currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the loader for the key unless a load for the same key is already in flight
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return existing.copy();
+        }
+
+        try {
+            loader.get().whenComplete((value, error) -> {
+                inFlight.remove(key, promise);
+                if (error != null) {
+                    promise.completeExceptionally(error);
+                } else {
+                    promise.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, promise);
+            promise.completeExceptionally(e);
+        }
+        return promise;
+    }
+}
@@ -0,0 +1,7 @@
+package com.sporty.aviation_wrapper.service;
+
+/**
+ * Response body of an airport as UTF-8 JSON bytes, and gzip-compressed when enabled ({@code null} otherwise)
+ */
+public record SerializedAirport(byte[] json, byte[] gzipJson) {
+}
@@ -7,7 +7,8 @@ import org.springframework.test.context.TestPropertySource;
 @SpringBootTest
 @TestPropertySource(properties = {
         "aviation.api.base-url=http://localhost:9999",
-        "resilience4j.circuitbreaker.instances.aviation-api.minimum-number-of-calls=1"
+        "resilience4j.circuitbreaker.instances.aviation-api.minimum-number-of-calls=1",
+        "aviation.cache.snapshot.enabled=false"
 })
 class AviationApiWrapperApplicationTests {
 
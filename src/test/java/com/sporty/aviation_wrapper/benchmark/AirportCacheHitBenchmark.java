@@ -0,0 +1,91 @@
+package com.sporty.aviation_wrapper.benchmark;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sporty.aviation_wrapper.client.AviationApiBatchCollector;
+import com.sporty.aviation_wrapper.client.ReactiveAviationApiClient;
+import com.sporty.aviation_wrapper.config.CacheConfig;
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import com.sporty.aviation_wrapper.dto.AviationApiResponse;
+import com.sporty.aviation_wrapper.service.AirportDatasetIndex;
+import com.sporty.aviation_wrapper.service.AirportIndexes;
+import com.sporty.aviation_wrapper.service.AirportService;
+import com.sporty.aviation_wrapper.service.CompactAirport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The {@link AirportService} lookup of an airport already in the Caffeine cache: key packing, the dataset index
+ * probe, the cache read and the soft-TTL check, with and without rebuilding the DTO from the compact entry.
+ * The cache is filled through the regular miss path from a stubbed upstream client, which hits never reach.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AirportCacheHitBenchmark {
+
+    private static final String[] ICAO_CODES = {"KBAB", "KJFK", "KLAX", "KSFO", "EGLL", "LFPG", "EDDF", "RJTT"};
+
+    private AirportService airportService;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.AIRPORTS_CACHE,
+                CacheConfig.AIRPORTS_NOT_FOUND_CACHE);
+        cacheManager.setCaffeine(Caffeine.from("maximumSize=1000,expireAfterWrite=24h,recordStats"));
+        AirportIndexes indexes = new AirportIndexes(meterRegistry);
+        ReactiveAviationApiClient aviationApiClient = mock(ReactiveAviationApiClient.class);
+        AviationApiBatchCollector batchCollector = new AviationApiBatchCollector(aviationApiClient, meterRegistry,
+                false, Duration.ofMillis(5), 50);
+        AirportDatasetIndex datasetIndex = new AirportDatasetIndex(aviationApiClient, indexes, meterRegistry, false,
+                Path.of("airports.jsonl"), Duration.ZERO, 50);
+        airportService = new AirportService(aviationApiClient, batchCollector, datasetIndex, indexes, cacheManager,
+                meterRegistry, 50, Duration.ofMinutes(15), 4);
+
+        for (String icaoCode : ICAO_CODES) {
+            when(aviationApiClient.getAirportsByIcao(icaoCode)).thenReturn(Mono.just(new AviationApiResponse(
+                    icaoCode, "BAB", "Beale Air Force Base", "Western", "Los Angeles ADO", "CA", "California",
+                    "Marysville", "Yuba County", "39.1361", "-121.4367", 113)));
+            airportService.getAirportEntryByIcao(icaoCode).join();
+        }
+    }
+
+    @Benchmark
+    public CompactAirport cachedEntry() {
+        return airportService.getAirportEntryByIcao(nextCode()).join();
+    }
+
+    @Benchmark
+    public AirportDto cachedDto() {
+        CompletableFuture<AirportDto> airport = airportService.getAirportByIcao(nextCode());
+        return airport.join();
+    }
+
+    private String nextCode() {
+        next = (next + 1) & (ICAO_CODES.length - 1);
+        return ICAO_CODES[next];
+    }
+}
@@ -0,0 +1,80 @@
+package com.sporty.aviation_wrapper.benchmark;
+
+import com.sporty.aviation_wrapper.client.ReactiveAviationApiClient;
+import com.sporty.aviation_wrapper.service.AirportDatasetIndex;
+import com.sporty.aviation_wrapper.service.AirportIndexes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Startup load of a 20k airport JSON lines dataset: streaming the file, packing the keys and feeding every
+ * airport to the spatial, search and secondary indexes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AirportDatasetLoadBenchmark {
+
+    private static final int AIRPORTS = 20_000;
+
+    private ReactiveAviationApiClient aviationApiClient;
+    private Path dataset;
+
+    @Setup
+    public void setUp() throws IOException {
+        aviationApiClient = mock(ReactiveAviationApiClient.class);
+        dataset = Files.createTempFile("airports", ".jsonl");
+        List<String> lines = IntStream.range(0, AIRPORTS)
+                .mapToObj(i -> "{\"icao_ident\": \"%s\", \"faa_ident\": \"%04d\", \"facility_name\": \"Airport %d\","
+                        .formatted(icaoCode(i), i, i)
+                        + " \"state\": \"NY\", \"latitude\": \"40.6\", \"longitude\": \"-73.7\"}")
+                .toList();
+        Files.write(dataset, lines);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(dataset);
+    }
+
+    @Benchmark
+    public AirportDatasetIndex load() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AirportDatasetIndex index = new AirportDatasetIndex(aviationApiClient, new AirportIndexes(meterRegistry),
+                meterRegistry, true, dataset, Duration.ZERO, 50);
+        index.afterPropertiesSet();
+        return index;
+    }
+
+    private static String icaoCode(int i) {
+        char[] letters = new char[4];
+        for (int position = 3; position >= 0; position--) {
+            letters[position] = (char) ('A' + i % 26);
+            i /= 26;
+        }
+        return new String(letters);
+    }
+}
@@ -0,0 +1,61 @@
+package com.sporty.aviation_wrapper.benchmark;
+
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import com.sporty.aviation_wrapper.service.AirportSerializer;
+import com.sporty.aviation_wrapper.service.CompactAirport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Body-writing cost of a cache hit: materializing the DTO and running Jackson on every request,
+ * against writing the bytes pre-serialized on the entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AirportResponseBenchmark {
+
+    private ObjectMapper objectMapper;
+    private AirportSerializer serializer;
+    private CompactAirport airport;
+    private OutputStream response;
+
+    @Setup
+    public void setUp() {
+        // Like Spring MVC's converter, write to the response without closing it
+        objectMapper = JsonMapper.builder().disable(StreamWriteFeature.AUTO_CLOSE_TARGET).build();
+        serializer = new AirportSerializer(objectMapper, new SimpleMeterRegistry(), true, false);
+        airport = CompactAirport.of(new AirportDto("KBAB", "BAB", "Beale Air Force Base", "Western",
+                "Los Angeles ADO", "CA", "California", "Marysville", "Yuba County", "39.1361", "-121.4367", 113));
+        response = OutputStream.nullOutputStream();
+    }
+
+    @Benchmark
+    public void jacksonPerRequest() throws IOException {
+        objectMapper.writeValue(response, airport.toDto());
+    }
+
+    @Benchmark
+    public void preSerialized() throws IOException {
+        response.write(serializer.serialized(airport).json());
+    }
+}
@@ -0,0 +1,75 @@
+package com.sporty.aviation_wrapper.benchmark;
+
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import com.sporty.aviation_wrapper.service.AirportIndexes;
+import com.sporty.aviation_wrapper.service.AirportSearchIndex;
+import com.sporty.aviation_wrapper.service.CompactAirport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type-ahead queries as typed keystroke by keystroke, from one-letter prefixes matching most of the index
+ * to prefixes matching a handful of airports.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AirportSearchIndexBenchmark {
+
+    private static final String[] WORDS = {"International", "Regional", "Municipal", "County", "Field", "Memorial",
+            "Air", "Base", "Lake", "River", "Valley", "Springs", "Harbor", "Mountain", "Island", "Saint"};
+
+    @Param({"50000"})
+    private int airports;
+
+    @Param({"s", "spr", "springs va"})
+    private String query;
+
+    private AirportSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        AirportIndexes indexes = new AirportIndexes(new SimpleMeterRegistry());
+        for (int i = 0; i < airports; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " "
+                    + WORDS[random.nextInt(WORDS.length)];
+            String city = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            AirportDto airport = new AirportDto(icaoCode(i), icaoCode(i).substring(1), name, "Region", null, "ST",
+                    "State", city, "County", "40.0", "-73.0", 100);
+            indexes.add(CompactAirport.of(airport));
+        }
+        index = indexes.search();
+    }
+
+    @Benchmark
+    public List<AirportDto> search() {
+        return index.search(query, 10);
+    }
+
+    private static String icaoCode(int i) {
+        char[] letters = new char[4];
+        for (int position = 3; position >= 0; position--) {
+            letters[position] = (char) ('A' + i % 26);
+            i /= 26;
+        }
+        return new String(letters);
+    }
+}
@@ -0,0 +1,98 @@
+package com.sporty.aviation_wrapper.benchmark;
+
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import com.sporty.aviation_wrapper.dto.NearbyAirport;
+import com.sporty.aviation_wrapper.service.AirportIndexes;
+import com.sporty.aviation_wrapper.service.AirportSpatialIndex;
+import com.sporty.aviation_wrapper.service.CompactAirport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Radius and k-nearest queries against an index holding tens of thousands of airports.
+ * Airports are spread over the inhabited latitudes, queries start from random points, so most of them
+ * land where airports are sparse and the k-nearest search has to widen its radius a few times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AirportSpatialIndexBenchmark {
+
+    private static final int QUERY_POINTS = 1024;
+
+    @Param({"10000", "50000"})
+    private int airports;
+
+    private AirportSpatialIndex index;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        AirportIndexes indexes = new AirportIndexes(new SimpleMeterRegistry());
+        for (int i = 0; i < airports; i++) {
+            AirportDto airport = new AirportDto(icaoCode(i), null, "Airport " + i, "Region", null, "ST", "State",
+                    "City", "County", String.valueOf(random.nextDouble(-55, 70)),
+                    String.valueOf(random.nextDouble(-180, 180)), 100);
+            indexes.add(CompactAirport.of(airport));
+        }
+        index = indexes.spatial();
+        latitudes = new double[QUERY_POINTS];
+        longitudes = new double[QUERY_POINTS];
+        for (int i = 0; i < QUERY_POINTS; i++) {
+            latitudes[i] = random.nextDouble(-55, 70);
+            longitudes[i] = random.nextDouble(-180, 180);
+        }
+    }
+
+    @Benchmark
+    public List<NearbyAirport> withinRadius50Km() {
+        int point = nextPoint();
+        return index.findWithinRadius(latitudes[point], longitudes[point], 50, 20);
+    }
+
+    @Benchmark
+    public List<NearbyAirport> withinRadius250Km() {
+        int point = nextPoint();
+        return index.findWithinRadius(latitudes[point], longitudes[point], 250, 20);
+    }
+
+    @Benchmark
+    public List<NearbyAirport> nearest5() {
+        int point = nextPoint();
+        return index.findNearest(latitudes[point], longitudes[point], 5);
+    }
+
+    private int nextPoint() {
+        next = (next + 1) & (QUERY_POINTS - 1);
+        return next;
+    }
+
+    private static String icaoCode(int i) {
+        char[] letters = new char[4];
+        for (int position = 3; position >= 0; position--) {
+            letters[position] = (char) ('A' + i % 26);
+            i /= 26;
+        }
+        return new String(letters);
+    }
+}
@@ -0,0 +1,89 @@
+package com.sporty.aviation_wrapper.benchmark;
+
+import com.sporty.aviation_wrapper.client.AviationApiResponseParser;
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import com.sporty.aviation_wrapper.dto.AviationApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upstream response handling: streaming a single-airport and a 50-airport body (one full upstream batch)
+ * into {@link AviationApiResponse} records, and mapping a record to the {@link AirportDto} that gets cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AviationApiParsingBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+
+    private byte[] singleBody;
+    private byte[] batchBody;
+    private AviationApiResponse response;
+
+    @Setup
+    public void setUp() {
+        singleBody = ("{" + airportEntry("KBAB") + "}").getBytes(StandardCharsets.UTF_8);
+        StringBuilder batch = new StringBuilder("{");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            if (i > 0) {
+                batch.append(',');
+            }
+            batch.append(airportEntry("K" + (char) ('A' + i / 26) + (char) ('A' + i % 26) + "A"));
+        }
+        batchBody = batch.append('}').toString().getBytes(StandardCharsets.UTF_8);
+        response = new AviationApiResponse("KBAB", "BAB", "BEALE AFB", "AWP", "SFO", "CA", "CALIFORNIA",
+                "MARYSVILLE", "YUBA", "39-08-10.0000N", "121-26-12.1000W", 113);
+    }
+
+    @Benchmark
+    public AviationApiResponse parseSingleAirport() throws IOException {
+        return AviationApiResponseParser.parseAirport(new ByteArrayInputStream(singleBody), "KBAB");
+    }
+
+    @Benchmark
+    public Map<String, AviationApiResponse> parseBatchOf50() throws IOException {
+        return AviationApiResponseParser.parseAirports(new ByteArrayInputStream(batchBody));
+    }
+
+    @Benchmark
+    public AirportDto toDto() {
+        return response.toDto();
+    }
+
+    /**
+     * An entry in the upstream shape, including the fields the DTO drops
+     */
+    private static String airportEntry(String icaoCode) {
+        return "\"" + icaoCode + "\":[{\"site_number\":\"02151.*A\",\"type\":\"AIRPORT\",\"facility_name\":\"BEALE AFB\","
+                + "\"faa_ident\":\"BAB\",\"icao_ident\":\"" + icaoCode + "\",\"region\":\"AWP\",\"district_office\":\"SFO\","
+                + "\"state\":\"CA\",\"state_full\":\"CALIFORNIA\",\"county\":\"YUBA\",\"city\":\"MARYSVILLE\","
+                + "\"ownership\":\"MA\",\"use\":\"PR\",\"manager\":\"AIRFIELD MANAGER\",\"manager_phone\":\"530-634-2500\","
+                + "\"latitude\":\"39-08-10.0000N\",\"latitude_sec\":\"140890.0000N\",\"longitude\":\"121-26-12.1000W\","
+                + "\"longitude_sec\":\"437172.1000W\",\"elevation\":\"113\",\"magnetic_variation\":\"16E\","
+                + "\"tpa\":\"\",\"vfr_sectional\":\"SAN FRANCISCO\",\"boundary_artcc\":\"ZOA\","
+                + "\"boundary_artcc_name\":\"OAKLAND\",\"responsible_artcc\":\"ZOA\",\"responsible_artcc_name\":\"OAKLAND\","
+                + "\"fss_phone_number\":\"\",\"fss_phone_numer_tollfree\":\"1-800-WX-BRIEF\",\"notam_facility_ident\":\"BAB\","
+                + "\"status\":\"O\",\"certification_typedate\":\"\",\"customs_airport_of_entry\":\"N\","
+                + "\"military_joint_use\":\"N\",\"military_landing\":\"Y\",\"lighting_schedule\":\"\","
+                + "\"beacon_schedule\":\"SS-SR\",\"control_tower\":\"Y\",\"unicom\":\"\",\"ctaf\":\"\","
+                + "\"effective_date\":\"11/04/2021\"}]";
+    }
+}
@@ -0,0 +1,145 @@
+package com.sporty.aviation_wrapper.client;
+
+import com.sporty.aviation_wrapper.exception.AviationServiceException;
+import com.sporty.aviation_wrapper.exception.UpstreamLimitExceededException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Adaptive Concurrency Limiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(meterRegistry, true, 4, 2, 50, 0.5, Duration.ofMillis(100),
+                2, Duration.ofMillis(200));
+    }
+
+    @Test
+    @DisplayName("Should queue callers above the limit and fail fast once the queue is full")
+    void limit_MoreCallersThanLimitAndQueue_RejectsOverflow() {
+        // Given
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            // Read when the call starts, so only the permits granted by the limiter are counted
+            maxInFlight.accumulateAndGet(limiter.inFlight(), Math::max);
+            return Mono.just("ok").delayElement(Duration.ofMillis(50));
+        });
+
+        // When
+        List<String> results = Flux.range(0, 7)
+                .flatMap(i -> limiter.limit(call).onErrorResume(UpstreamLimitExceededException.class,
+                        e -> Mono.just("rejected")), 7)
+                .collectList()
+                .block();
+
+        // Then
+        assertThat(results).containsOnly("ok", "rejected").filteredOn("rejected"::equals).hasSize(1);
+        assertThat(maxInFlight.get()).isEqualTo(4);
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(meterRegistry.get("aviation_api_limiter_rejected_total").tag("reason", "queue_full")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail queued callers whose wait exceeds the maximum wait")
+    void limit_PermitNotReleasedInTime_TimesOut() {
+        // Given
+        Mono<String> slowCall = Mono.just("slow").delayElement(Duration.ofMillis(400));
+
+        // When
+        List<String> results = Flux.range(0, 5)
+                .flatMap(i -> limiter.limit(slowCall).onErrorResume(UpstreamLimitExceededException.class,
+                        e -> Mono.just("rejected")), 5)
+                .collectList()
+                .block();
+
+        // Then
+        assertThat(results).filteredOn("rejected"::equals).hasSize(1);
+        assertThat(meterRegistry.get("aviation_api_limiter_rejected_total").tag("reason", "timeout")
+                .counter().count()).isEqualTo(1);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should raise the limit on fast successes and back off once per round of failures")
+    void limit_SuccessesThenFailures_AdaptsLimit() {
+        // When
+        for (int i = 0; i < 40; i++) {
+            limiter.limit(Mono.just("ok")).block();
+        }
+        int raised = limiter.currentLimit();
+        Mono<String> failingCall = Mono.delay(Duration.ofMillis(20))
+                .then(Mono.error(new TimeoutException("upstream timed out")));
+        Flux.range(0, raised)
+                .flatMap(i -> limiter.limit(failingCall).onErrorResume(e -> Mono.empty()), raised)
+                .blockLast();
+
+        // Then
+        assertThat(raised).isGreaterThan(4);
+        assertThat(limiter.currentLimit()).isEqualTo(Math.max(2, (int) (raised * 0.5)));
+        assertThat(meterRegistry.get("aviation_api_concurrency_limit").gauge().value())
+                .isEqualTo(limiter.currentLimit());
+    }
+
+    @Test
+    @DisplayName("Should back off on 5xx and 429 answers but not on 4xx answers or unparseable bodies")
+    void limit_FailuresByCause_BacksOffOnlyOnOverload() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), true, 4, 1, 50,
+                0.5, Duration.ofMillis(100), 2, Duration.ofMillis(200));
+
+        // When
+        failOnce(limiter, WebClientResponseException.create(404, "Not Found", null, null, null));
+        failOnce(limiter, WebClientResponseException.create(400, "Bad Request", null, null, null));
+        failOnce(limiter, new AviationServiceException("Invalid response received from Aviation API"));
+        int afterClientErrors = limiter.currentLimit();
+        failOnce(limiter, WebClientResponseException.create(429, "Too Many Requests", null, null, null));
+        int afterTooManyRequests = limiter.currentLimit();
+        failOnce(limiter, WebClientResponseException.create(503, "Service Unavailable", null, null, null));
+
+        // Then
+        assertThat(afterClientErrors).isEqualTo(4);
+        assertThat(afterTooManyRequests).isEqualTo(2);
+        assertThat(limiter.currentLimit()).isEqualTo(1);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave the limit unchanged for calls rejected by the open circuit breaker")
+    void limit_CircuitOpen_KeepsLimit() {
+        // Given
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("test");
+        circuitBreaker.transitionToOpenState();
+
+        // When
+        limiter.limit(Mono.error(CallNotPermittedException.createCallNotPermittedException(circuitBreaker)))
+                .onErrorResume(e -> Mono.empty())
+                .block();
+
+        // Then
+        assertThat(limiter.currentLimit()).isEqualTo(4);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    private static void failOnce(AdaptiveConcurrencyLimiter limiter, Throwable error) {
+        limiter.limit(Mono.error(error)).onErrorResume(e -> Mono.empty()).block();
+    }
+}
@@ -0,0 +1,124 @@
+package com.sporty.aviation_wrapper.client;
+
+import com.sporty.aviation_wrapper.dto.AviationApiResponse;
+import com.sporty.aviation_wrapper.exception.AviationServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Aviation API Batch Collector Tests")
+class AviationApiBatchCollectorTest {
+
+    @Mock
+    private ReactiveAviationApiClient aviationApiClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AviationApiBatchCollector batchCollector;
+
+    @AfterEach
+    void tearDown() {
+        if (batchCollector != null) {
+            batchCollector.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send fetches collected in one window as a single upstream call")
+    void fetch_WithinWindow_SharesOneUpstreamCall() {
+        // Given
+        batchCollector = createCollector(Duration.ofMillis(50), 10);
+        when(aviationApiClient.getAirportsByIcaoCodes(List.of("KBAB", "KJFK", "XXXX")))
+                .thenReturn(Mono.just(Map.of("KBAB", createApiResponse("KBAB"), "KJFK", createApiResponse("KJFK"))));
+
+        // When
+        CompletableFuture<AviationApiResponse> kbab = batchCollector.fetch("KBAB");
+        CompletableFuture<AviationApiResponse> kjfk = batchCollector.fetch("KJFK");
+        CompletableFuture<AviationApiResponse> unknown = batchCollector.fetch("XXXX");
+        CompletableFuture<AviationApiResponse> duplicate = batchCollector.fetch("KBAB");
+
+        // Then
+        assertThat(kbab.join().icao_ident()).isEqualTo("KBAB");
+        assertThat(kjfk.join().icao_ident()).isEqualTo("KJFK");
+        assertThat(duplicate.join().icao_ident()).isEqualTo("KBAB");
+        assertThat(unknown.join()).isNull();
+        verify(aviationApiClient, times(1)).getAirportsByIcaoCodes(anyCollection());
+        assertThat(meterRegistry.get("aviation_api_batch_size").summary().max()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("aviation_api_batch_wait").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should flush immediately when the batch reaches its maximum size")
+    void fetch_MaxBatchSizeReached_FlushesWithoutWaitingForWindow() {
+        // Given
+        batchCollector = createCollector(Duration.ofMinutes(1), 2);
+        when(aviationApiClient.getAirportsByIcaoCodes(List.of("KBAB", "KJFK")))
+                .thenReturn(Mono.just(Map.of("KBAB", createApiResponse("KBAB"), "KJFK", createApiResponse("KJFK"))));
+
+        // When
+        CompletableFuture<AviationApiResponse> kbab = batchCollector.fetch("KBAB");
+        CompletableFuture<AviationApiResponse> kjfk = batchCollector.fetch("KJFK");
+
+        // Then
+        assertThat(kbab).isCompleted();
+        assertThat(kjfk.join().icao_ident()).isEqualTo("KJFK");
+    }
+
+    @Test
+    @DisplayName("Should fail every fetch of a batch when the upstream call fails")
+    void fetch_UpstreamFails_FailsEveryFetch() {
+        // Given
+        batchCollector = createCollector(Duration.ofMinutes(1), 2);
+        AviationServiceException failure = new AviationServiceException("Aviation service temporarily unavailable");
+        when(aviationApiClient.getAirportsByIcaoCodes(List.of("KBAB", "KJFK"))).thenReturn(Mono.error(failure));
+
+        // When
+        CompletableFuture<AviationApiResponse> kbab = batchCollector.fetch("KBAB");
+        CompletableFuture<AviationApiResponse> kjfk = batchCollector.fetch("KJFK");
+
+        // Then
+        assertThatThrownBy(kbab::join).isInstanceOf(CompletionException.class).hasCause(failure);
+        assertThatThrownBy(kjfk::join).isInstanceOf(CompletionException.class).hasCause(failure);
+    }
+
+    @Test
+    @DisplayName("Should call single-airport endpoint directly when micro-batching is disabled")
+    void fetch_Disabled_CallsUpstreamDirectly() {
+        // Given
+        batchCollector = new AviationApiBatchCollector(aviationApiClient, meterRegistry,
+                false, Duration.ofMillis(5), 10);
+        when(aviationApiClient.getAirportsByIcao("KBAB")).thenReturn(Mono.just(createApiResponse("KBAB")));
+
+        // When
+        AviationApiResponse result = batchCollector.fetch("KBAB").join();
+
+        // Then
+        assertThat(result.icao_ident()).isEqualTo("KBAB");
+        verify(aviationApiClient, never()).getAirportsByIcaoCodes(anyCollection());
+    }
+
+    private AviationApiBatchCollector createCollector(Duration window, int maxBatchSize) {
+        return new AviationApiBatchCollector(aviationApiClient, meterRegistry,
+                true, window, maxBatchSize);
+    }
+
+    private AviationApiResponse createApiResponse(String icaoCode) {
+        return new AviationApiResponse(icaoCode, "TST", "Test Airport " + icaoCode, "Eastern", "New York ADO",
+                "NY", "New York", "Sample City", "Sample County", "40.7589", "-73.7781", 100);
+    }
+}
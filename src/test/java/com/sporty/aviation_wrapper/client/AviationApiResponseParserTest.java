@@ -0,0 +1,198 @@
+package com.sporty.aviation_wrapper.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sporty.aviation_wrapper.dto.AviationApiResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Aviation API Response Parser Tests")
+class AviationApiResponseParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should parse the airport listed under the requested code")
+    void parseAirport_SuccessfulResponse_ReturnsAirport() throws Exception {
+        // Given
+        String response = "{\"KBAB\": [%s]}".formatted(airportJson("KBAB"));
+
+        // When
+        AviationApiResponse result = AviationApiResponseParser.parseAirport(body(response), "KBAB");
+
+        // Then
+        assertThat(result).isEqualTo(airport("KBAB"));
+        assertThat(result.toDto().icao()).isEqualTo("KBAB");
+        assertThat(result.toDto().facility_name()).isEqualTo("Sample Airport");
+    }
+
+    @Test
+    @DisplayName("Should throw JsonProcessingException when the body is not valid JSON")
+    void parseAirport_InvalidJson_ThrowsJsonProcessingException() {
+        // When & Then
+        assertThatThrownBy(() -> AviationApiResponseParser.parseAirport(body("{ invalid json }"), "KBAB"))
+                .isInstanceOf(JsonProcessingException.class);
+    }
+
+    @Test
+    @DisplayName("Should throw JsonProcessingException when the body is not a JSON object")
+    void parseAirport_TopLevelArray_ThrowsJsonProcessingException() {
+        // When & Then
+        assertThatThrownBy(() -> AviationApiResponseParser.parseAirport(body("[]"), "KBAB"))
+                .isInstanceOf(JsonProcessingException.class);
+    }
+
+    @Test
+    @DisplayName("Should return null when the response has no data for the code")
+    void parseAirport_NoDataForIcaoCode_ReturnsNull() throws Exception {
+        // Given
+        String response = "{\"KOTHER\": [{\"icao_ident\": \"KOTHER\", \"facility_name\": \"Other Airport\"}]}";
+
+        // When & Then
+        assertThat(AviationApiResponseParser.parseAirport(body(response), "KBAB")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return null when the response is an empty object")
+    void parseAirport_EmptyObject_ReturnsNull() throws Exception {
+        // When & Then
+        assertThat(AviationApiResponseParser.parseAirport(body("{}"), "KBAB")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return null when the array for the code is empty")
+    void parseAirport_EmptyArray_ReturnsNull() throws Exception {
+        // When & Then
+        assertThat(AviationApiResponseParser.parseAirport(body("{\"KBAB\": []}"), "KBAB")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should bind only the first element of the requested code when other codes come first")
+    void parseAirport_RequestedCodeAfterOthers_SkipsOtherEntries() throws Exception {
+        // Given
+        String response = """
+                {
+                    "KOTHER": [ { "icao_ident": "KOTHER", "nested": { "list": [1, 2, 3] } } ],
+                    "KBAB": [ %s, { "icao_ident": "SECOND" } ]
+                }
+                """.formatted(airportJson("KBAB"));
+
+        // When
+        AviationApiResponse result = AviationApiResponseParser.parseAirport(body(response), "KBAB");
+
+        // Then
+        assertThat(result).isEqualTo(airport("KBAB"));
+    }
+
+    @Test
+    @DisplayName("Should match the requested code regardless of case")
+    void parseAirport_LowercaseKey_ReturnsAirport() throws Exception {
+        // Given
+        String response = "{\"kbab\": [%s]}".formatted(airportJson("KBAB"));
+
+        // When & Then
+        assertThat(AviationApiResponseParser.parseAirport(body(response), "KBAB")).isEqualTo(airport("KBAB"));
+    }
+
+    @Test
+    @DisplayName("Should keep null fields of a partial airport")
+    void parseAirport_PartialData_KeepsMissingFieldsNull() throws Exception {
+        // Given
+        String response = """
+                {"KMIN": [{"icao_ident": "KMIN", "facility_name": "Minimal Airport", "city": "Minimal City"}]}
+                """;
+
+        // When
+        AviationApiResponse result = AviationApiResponseParser.parseAirport(body(response), "KMIN");
+
+        // Then
+        assertThat(result.facility_name()).isEqualTo("Minimal Airport");
+        assertThat(result.city()).isEqualTo("Minimal City");
+        assertThat(result.faa_ident()).isNull();
+        assertThat(result.state()).isNull();
+        assertThat(result.elevation()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should parse the first airport of every non-empty array, keyed by upper-cased code")
+    void parseAirports_MultiCodeResponse_ParsesEveryKey() throws Exception {
+        // Given
+        String response = """
+                {
+                    "KBAB": [ %s ],
+                    "egll": [ %s, %s ],
+                    "XXXX": []
+                }
+                """.formatted(airportJson("KBAB"), airportJson("EGLL"), airportJson("OTHER"));
+
+        // When
+        Map<String, AviationApiResponse> result = AviationApiResponseParser.parseAirports(body(response));
+
+        // Then
+        assertThat(result).containsOnlyKeys("KBAB", "EGLL");
+        assertThat(result.get("EGLL")).isEqualTo(airport("EGLL"));
+    }
+
+    @Test
+    @DisplayName("Should skip values that are not arrays in a multi-code response")
+    void parseAirports_NonArrayValue_SkipsEntry() throws Exception {
+        // Given
+        String response = "{\"error\": {\"detail\": [1, 2]}, \"KBAB\": [%s]}".formatted(airportJson("KBAB"));
+
+        // When
+        Map<String, AviationApiResponse> result = AviationApiResponseParser.parseAirports(body(response));
+
+        // Then
+        assertThat(result).containsOnlyKeys("KBAB");
+    }
+
+    @Test
+    @DisplayName("Should reject a first array element that is not an airport object")
+    void parseAirports_NestedArrayFirstElement_ThrowsJsonProcessingException() throws Exception {
+        // Given
+        String response = "{\"KBAB\": [[1, 2], %s], \"EGLL\": [%s]}"
+                .formatted(airportJson("KBAB"), airportJson("EGLL"));
+
+        // When & Then
+        assertThatThrownBy(() -> AviationApiResponseParser.parseAirports(body(response)))
+                .isInstanceOf(JsonProcessingException.class);
+        assertThatThrownBy(() -> AviationApiResponseParser.parseAirport(body(response), "KBAB"))
+                .isInstanceOf(JsonProcessingException.class);
+    }
+
+    @Test
+    @DisplayName("Should skip nested arrays after the first element and keep parsing the next codes")
+    void parseAirports_NestedArrayAfterFirstElement_ParsesNextCodes() throws Exception {
+        // Given
+        String response = "{\"KBAB\": [%s, [[1], [2, [3]]]], \"EGLL\": [%s]}"
+                .formatted(airportJson("KBAB"), airportJson("EGLL"));
+
+        // When
+        Map<String, AviationApiResponse> result = AviationApiResponseParser.parseAirports(body(response));
+
+        // Then
+        assertThat(result).containsOnlyKeys("KBAB", "EGLL");
+        assertThat(result.get("EGLL")).isEqualTo(airport("EGLL"));
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String airportJson(String icaoCode) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(airport(icaoCode));
+    }
+
+    private static AviationApiResponse airport(String icaoCode) {
+        return new AviationApiResponse(icaoCode, "BAB", "Sample Airport", "Eastern", "New York ADO", "NY", "New York",
+                "Sample City", "Sample County", "40.7589", "-73.7781", 100);
+    }
+}
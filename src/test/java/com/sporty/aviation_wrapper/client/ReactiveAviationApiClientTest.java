@@ -0,0 +1,357 @@
+package com.sporty.aviation_wrapper.client;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sporty.aviation_wrapper.exception.AviationServiceException;
+import com.sporty.aviation_wrapper.exception.UpstreamLimitExceededException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Reactive Aviation API Client Tests")
+class ReactiveAviationApiClientTest {
+
+    private WireMockServer wireMockServer;
+    private ReactiveAviationApiClient aviationApiClient;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+        wireMockServer.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(meterRegistry, true, 20, 2, 200,
+                0.9, Duration.ofSeconds(2), 100, Duration.ofMillis(500));
+        aviationApiClient = createClient(concurrencyLimiter, new RequestHedger(meterRegistry, concurrencyLimiter, false,
+                95, Duration.ofMillis(20), Duration.ofSeconds(1), 10, 1000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    @DisplayName("Should emit parsed airport for a known ICAO code")
+    void getAirportsByIcao_KnownCode_EmitsAirport() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports"))
+                .withQueryParam("apt", equalTo("KBAB"))
+                .willReturn(okJson(airportsJson("KBAB"))));
+
+        // When & Then
+        StepVerifier.create(aviationApiClient.getAirportsByIcao("KBAB"))
+                .assertNext(airport -> assertThat(airport.icao_ident()).isEqualTo("KBAB"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should complete empty when upstream has no data for the code")
+    void getAirportsByIcao_UnknownCode_CompletesEmpty() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports")).willReturn(okJson("{\"XXXX\": []}")));
+
+        // When & Then
+        StepVerifier.create(aviationApiClient.getAirportsByIcao("XXXX"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should bind every field of the upstream airport")
+    void getAirportsByIcao_FullResponse_BindsEveryField() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports"))
+                .withQueryParam("apt", equalTo("KBAB"))
+                .willReturn(okJson("""
+                        {"KBAB": [{"icao_ident": "KBAB", "faa_ident": "BAB", "facility_name": "Beale Air Force Base",
+                                   "region": "Western-Pacific", "district_office": "San Francisco ADO",
+                                   "state": "CA", "state_full": "California", "city": "Marysville",
+                                   "county": "Yuba", "latitude": "39-08-10.9000N",
+                                   "longitude": "121-26-12.0000W", "elevation": 113}]}
+                        """)));
+
+        // When & Then
+        StepVerifier.create(aviationApiClient.getAirportsByIcao("KBAB"))
+                .assertNext(airport -> {
+                    assertThat(airport.faa_ident()).isEqualTo("BAB");
+                    assertThat(airport.facility_name()).isEqualTo("Beale Air Force Base");
+                    assertThat(airport.city()).isEqualTo("Marysville");
+                    assertThat(airport.state()).isEqualTo("CA");
+                    assertThat(airport.state_full()).isEqualTo("California");
+                    assertThat(airport.latitude()).isEqualTo("39-08-10.9000N");
+                    assertThat(airport.elevation()).isEqualTo(113);
+                })
+                .verifyComplete();
+        wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/v1/airports"))
+                .withQueryParam("apt", equalTo("KBAB")));
+    }
+
+    @Test
+    @DisplayName("Should complete empty when upstream returns an empty array for the code")
+    void getAirportsByIcao_EmptyArray_CompletesEmpty() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports"))
+                .withQueryParam("apt", equalTo("KBAB"))
+                .willReturn(okJson("{\"KBAB\": []}")));
+
+        // When & Then
+        StepVerifier.create(aviationApiClient.getAirportsByIcao("KBAB"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should keep missing fields null when upstream returns partial data")
+    void getAirportsByIcao_PartialData_KeepsMissingFieldsNull() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports"))
+                .withQueryParam("apt", equalTo("KMIN"))
+                .willReturn(okJson("""
+                        {"KMIN": [{"icao_ident": "KMIN", "facility_name": "Minimal Airport", "city": "Minimal City"}]}
+                        """)));
+
+        // When & Then
+        StepVerifier.create(aviationApiClient.getAirportsByIcao("KMIN"))
+                .assertNext(airport -> {
+                    assertThat(airport.facility_name()).isEqualTo("Minimal Airport");
+                    assertThat(airport.city()).isEqualTo("Minimal City");
+                    assertThat(airport.faa_ident()).isNull();
+                    assertThat(airport.state()).isNull();
+                    assertThat(airport.elevation()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should build the upstream URL with the ICAO code as apt query parameter")
+    void getAirportsByIcao_IcaoCode_SendsAptQueryParameter() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports")).willReturn(okJson("""
+                {"EGLL": [{"icao_ident": "EGLL", "facility_name": "London Heathrow Airport"}]}
+                """)));
+
+        // When
+        var airportDto = aviationApiClient.getAirportsByIcao("EGLL").block().toDto();
+
+        // Then
+        assertThat(airportDto.icao()).isEqualTo("EGLL");
+        assertThat(airportDto.facility_name()).isEqualTo("London Heathrow Airport");
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/v1/airports?apt=EGLL")));
+    }
+
+    @Test
+    @DisplayName("Should send one upstream request per consecutive call")
+    void getAirportsByIcao_ConsecutiveCalls_SendsOneRequestEach() {
+        // Given
+        List<String> icaoCodes = List.of("KBAB", "EGLL", "KJFK");
+        icaoCodes.forEach(icaoCode -> wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports"))
+                .withQueryParam("apt", equalTo(icaoCode))
+                .willReturn(okJson(airportsJson(icaoCode)))));
+
+        // When & Then
+        for (String icaoCode : icaoCodes) {
+            StepVerifier.create(aviationApiClient.getAirportsByIcao(icaoCode))
+                    .assertNext(airport -> assertThat(airport.icao_ident()).isEqualTo(icaoCode))
+                    .verifyComplete();
+            wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/v1/airports"))
+                    .withQueryParam("apt", equalTo(icaoCode)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should fetch several ICAO codes with one upstream call")
+    void getAirportsByIcaoCodes_SeveralCodes_EmitsMapOfAirports() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports"))
+                .withQueryParam("apt", equalTo("KBAB,KJFK"))
+                .willReturn(okJson("{" + airportEntry("KBAB") + "," + airportEntry("KJFK") + "}")));
+
+        // When & Then
+        StepVerifier.create(aviationApiClient.getAirportsByIcaoCodes(List.of("KBAB", "KJFK")))
+                .assertNext(airports -> assertThat(airports).containsOnlyKeys("KBAB", "KJFK"))
+                .verifyComplete();
+        wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/v1/airports")));
+    }
+
+    @Test
+    @DisplayName("Should retry and then fail with AviationServiceException on upstream errors")
+    void getAirportsByIcao_UpstreamError_RetriesThenFails() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports")).willReturn(serverError()));
+
+        // When & Then
+        StepVerifier.create(aviationApiClient.getAirportsByIcao("KBAB"))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(AviationServiceException.class)
+                        .hasMessageContaining("temporarily unavailable"))
+                .verify();
+        wireMockServer.verify(2, getRequestedFor(urlPathEqualTo("/v1/airports")));
+        assertThat(stageCount("airport_upstream_attempt", "error")).isEqualTo(2);
+        assertThat(stageCount("airport_upstream_call", "error")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail with AviationServiceException when upstream answers 404")
+    void getAirportsByIcao_NotFound_FailsWithAviationServiceException() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports")).willReturn(notFound()));
+
+        // When & Then
+        StepVerifier.create(aviationApiClient.getAirportsByIcao("KBAB"))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(AviationServiceException.class)
+                        .hasCauseInstanceOf(WebClientResponseException.NotFound.class))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should fail with AviationServiceException when upstream does not answer in time")
+    void getAirportsByIcao_UpstreamTimeout_FailsWithAviationServiceException() {
+        // Given
+        WebClient webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create()
+                        .responseTimeout(Duration.ofMillis(200))))
+                .build();
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(meterRegistry, true, 20, 2, 200,
+                0.9, Duration.ofSeconds(2), 100, Duration.ofMillis(500));
+        ReactiveAviationApiClient client = createClient(webClient, concurrencyLimiter, new RequestHedger(meterRegistry,
+                concurrencyLimiter, false, 95, Duration.ofMillis(20), Duration.ofSeconds(1), 10, 1000));
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports"))
+                .willReturn(okJson(airportsJson("KBAB")).withFixedDelay(5000)));
+
+        // When & Then
+        StepVerifier.create(client.getAirportsByIcao("KBAB"))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(AviationServiceException.class)
+                        .hasMessageContaining("temporarily unavailable"))
+                .verify(Duration.ofSeconds(3));
+    }
+
+    @Test
+    @DisplayName("Should report an unparseable body as an invalid response, not as unavailability")
+    void getAirportsByIcao_InvalidBody_FailsWithInvalidResponse() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports")).willReturn(okJson("{\"KBAB\": [")));
+
+        // When & Then
+        StepVerifier.create(aviationApiClient.getAirportsByIcao("KBAB"))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(AviationServiceException.class)
+                        .hasMessage("Invalid response received from Aviation API"))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should pass a concurrency limiter rejection through unchanged")
+    void getAirportsByIcao_LimiterQueueFull_FailsWithUpstreamLimitExceeded() {
+        // Given
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(meterRegistry, true, 1, 1, 1,
+                0.9, Duration.ofSeconds(2), 0, Duration.ofMillis(500));
+        ReactiveAviationApiClient client = createClient(concurrencyLimiter, new RequestHedger(meterRegistry,
+                concurrencyLimiter, false, 95, Duration.ofMillis(20), Duration.ofSeconds(1), 10, 1000));
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports"))
+                .willReturn(okJson(airportsJson("KBAB")).withFixedDelay(500)));
+        Disposable inFlight = client.getAirportsByIcao("KBAB").subscribe();
+
+        // When & Then
+        StepVerifier.create(client.getAirportsByIcao("KJFK"))
+                .expectError(UpstreamLimitExceededException.class)
+                .verify(Duration.ofSeconds(1));
+        inFlight.dispose();
+    }
+
+    @Test
+    @DisplayName("Should time the attempt, the call and the body parse of a successful fetch")
+    void getAirportsByIcao_KnownCode_RecordsStageTimers() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports")).willReturn(okJson(airportsJson("KBAB"))));
+
+        // When
+        aviationApiClient.getAirportsByIcao("KBAB").block();
+
+        // Then
+        assertThat(stageCount("airport_upstream_attempt", "success")).isEqualTo(1);
+        assertThat(stageCount("airport_upstream_call", "success")).isEqualTo(1);
+        assertThat(stageCount("airport_upstream_parse", "success")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not hedge an attempt for the time it waited for a concurrency permit")
+    void getAirportsByIcao_QueuedForPermit_HedgeDelayStartsWithPermit() {
+        // Given
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(meterRegistry, true, 2, 2, 2,
+                0.9, Duration.ofSeconds(2), 100, Duration.ofSeconds(2));
+        ReactiveAviationApiClient client = createClient(concurrencyLimiter, new RequestHedger(meterRegistry,
+                concurrencyLimiter, true, 95, Duration.ofMillis(500), Duration.ofMillis(500), 100, 1000));
+        List.of("KBAB", "KJFK").forEach(icaoCode -> wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports"))
+                .withQueryParam("apt", equalTo(icaoCode))
+                .willReturn(okJson(airportsJson(icaoCode)).withFixedDelay(800))));
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports"))
+                .withQueryParam("apt", equalTo("EGLL"))
+                .willReturn(okJson(airportsJson("EGLL")).withFixedDelay(10)));
+        // Warm up the server without hedging, so a slow first request does not make a hedge due
+        aviationApiClient.getAirportsByIcao("EGLL").block();
+
+        // When
+        // KBAB and KJFK hold both permits for 800 ms, EGLL waits for one of them and then answers at once
+        Mono.zip(client.getAirportsByIcao("KBAB"), client.getAirportsByIcao("KJFK"), client.getAirportsByIcao("EGLL"))
+                .block(Duration.ofSeconds(3));
+
+        // Then
+        // Only the hedges of KBAB and KJFK came due, while both permits were held; one for EGLL would mean
+        // its delay had started while it was still queued
+        assertThat(meterRegistry.get("aviation_api_hedges_fired_total").counter().count()).isZero();
+        assertThat(meterRegistry.get("aviation_api_hedges_skipped_total").tag("reason", "no_permit").counter()
+                .count()).isEqualTo(2);
+        wireMockServer.verify(4, getRequestedFor(urlPathEqualTo("/v1/airports")));
+    }
+
+    private ReactiveAviationApiClient createClient(AdaptiveConcurrencyLimiter concurrencyLimiter,
+            RequestHedger requestHedger) {
+        return createClient(WebClient.create(), concurrencyLimiter, requestHedger);
+    }
+
+    private ReactiveAviationApiClient createClient(WebClient webClient,
+            AdaptiveConcurrencyLimiter concurrencyLimiter, RequestHedger requestHedger) {
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(2)
+                .waitDuration(Duration.ofMillis(10))
+                .build());
+        return new ReactiveAviationApiClient(webClient, CircuitBreakerRegistry.ofDefaults(), retryRegistry,
+                Schedulers.immediate(), concurrencyLimiter, requestHedger, meterRegistry, wireMockServer.baseUrl());
+    }
+
+    private long stageCount(String name, String outcome) {
+        return meterRegistry.get(name).tag("outcome", outcome).timer().count();
+    }
+
+    private String airportsJson(String icaoCode) {
+        return "{" + airportEntry(icaoCode) + "}";
+    }
+
+    private String airportEntry(String icaoCode) {
+        return """
+                "%s": [{"icao_ident": "%s", "faa_ident": "TST", "facility_name": "Test Airport",
+                        "state": "NY", "city": "Sample City", "elevation": 100}]
+                """.formatted(icaoCode, icaoCode);
+    }
+}
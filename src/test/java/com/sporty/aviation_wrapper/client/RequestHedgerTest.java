@@ -0,0 +1,217 @@
+package com.sporty.aviation_wrapper.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Request Hedger Tests")
+class RequestHedgerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should hedge a slow attempt, take the faster answer and cancel the slow one")
+    void hedge_SlowFirstAttempt_HedgeWins() {
+        // Given
+        RequestHedger hedger = hedger(100);
+        AtomicInteger subscriptions = new AtomicInteger();
+        AtomicBoolean firstCancelled = new AtomicBoolean();
+        Mono<String> attempt = Mono.defer(() -> subscriptions.incrementAndGet() == 1
+                ? Mono.just("first").delayElement(Duration.ofSeconds(2)).doOnCancel(() -> firstCancelled.set(true))
+                : Mono.just("hedge").delayElement(Duration.ofMillis(10)));
+
+        // When
+        String result = hedger.hedge(attempt).block(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(result).isEqualTo("hedge");
+        assertThat(subscriptions.get()).isEqualTo(2);
+        assertThat(firstCancelled).isTrue();
+        assertThat(meterRegistry.get("aviation_api_hedges_fired_total").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("aviation_api_hedges_won_total").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not hedge an attempt answering within the hedge delay")
+    void hedge_FastAttempt_NoHedge() {
+        // Given
+        RequestHedger hedger = hedger(100);
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> attempt = Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Mono.just("first");
+        });
+
+        // When
+        String result = hedger.hedge(attempt).block(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(result).isEqualTo("first");
+        assertThat(subscriptions.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("aviation_api_hedges_fired_total").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should send no more hedges than the hedge budget allows")
+    void hedge_LimitedBudget_SkipsExtraHedges() {
+        // Given
+        RequestHedger hedger = hedger(50);
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> slowAttempt = Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Mono.just("slow").delayElement(Duration.ofMillis(150));
+        });
+
+        // When
+        String first = hedger.hedge(slowAttempt).block(Duration.ofSeconds(1));
+        String second = hedger.hedge(slowAttempt).block(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(first).isEqualTo("slow");
+        assertThat(second).isEqualTo("slow");
+        assertThat(subscriptions.get()).isEqualTo(3);
+        assertThat(meterRegistry.get("aviation_api_hedges_fired_total").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("aviation_api_hedges_skipped_total").tag("reason", "budget").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should ignore a failed hedge and wait for the first attempt")
+    void hedge_HedgeFails_FirstAttemptDecides() {
+        // Given
+        RequestHedger hedger = hedger(100);
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> attempt = Mono.defer(() -> subscriptions.incrementAndGet() == 1
+                ? Mono.just("first").delayElement(Duration.ofMillis(200))
+                : Mono.error(new IllegalStateException("Upstream error")));
+
+        // When
+        String result = hedger.hedge(attempt).block(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(result).isEqualTo("first");
+        assertThat(meterRegistry.get("aviation_api_hedges_fired_total").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("aviation_api_hedges_won_total").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hold a concurrency permit of its own while the hedge runs")
+    void hedge_SlowFirstAttempt_HedgeTakesItsOwnPermit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(true, 2);
+        RequestHedger hedger = hedger(100, limiter);
+        AtomicInteger subscriptions = new AtomicInteger();
+        AtomicInteger inFlightAtHedge = new AtomicInteger();
+        Mono<String> attempt = Mono.defer(() -> {
+            if (subscriptions.incrementAndGet() == 1) {
+                return Mono.just("first").delayElement(Duration.ofMillis(500));
+            }
+            inFlightAtHedge.set(limiter.inFlight());
+            return Mono.just("hedge").delayElement(Duration.ofMillis(10));
+        });
+
+        // When
+        String result = limiter.limit(hedger.hedge(attempt)).block(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(result).isEqualTo("hedge");
+        assertThat(inFlightAtHedge.get()).isEqualTo(2);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should skip the hedge and keep the budget when no concurrency permit is free")
+    void hedge_NoFreePermit_SkipsHedge() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(true, 1);
+        RequestHedger hedger = hedger(100, limiter);
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> attempt = Mono.defer(() -> {
+            subscriptions.incrementAndGet();
+            return Mono.just("first").delayElement(Duration.ofMillis(150));
+        });
+
+        // When
+        String result = limiter.limit(hedger.hedge(attempt)).block(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(result).isEqualTo("first");
+        assertThat(subscriptions.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("aviation_api_hedges_fired_total").counter().count()).isZero();
+        assertThat(meterRegistry.get("aviation_api_hedges_skipped_total").tag("reason", "no_permit").counter()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get("aviation_api_hedges_skipped_total").tag("reason", "budget").counter()
+                .count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should feed the latency of hedges to the percentile window")
+    void hedge_HedgesWin_RecordsHedgeLatencies() {
+        // Given
+        RequestHedger hedger = new RequestHedger(meterRegistry, unlimited(), true, 50, Duration.ofMillis(1),
+                Duration.ofMillis(100), 100, 1000);
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> attempt = Mono.defer(() -> subscriptions.incrementAndGet() % 2 == 1
+                ? Mono.just("first").delayElement(Duration.ofSeconds(1))
+                : Mono.just("hedge").delayElement(Duration.ofMillis(10)));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            hedger.hedge(attempt).block(Duration.ofSeconds(1));
+        }
+
+        // Then
+        // Ten first attempts alone are below the 20 samples needed, the ten hedges complete the window
+        assertThat(subscriptions.get()).isEqualTo(20);
+        assertThat(hedger.currentDelay()).isLessThan(Duration.ofMillis(100));
+    }
+
+    @Test
+    @DisplayName("Should derive the hedge delay from the percentile of recent attempt latencies")
+    void hedge_ObservedLatencies_DelayFollowsPercentile() {
+        // Given
+        RequestHedger hedger = new RequestHedger(meterRegistry, unlimited(), true, 95, Duration.ofMillis(1),
+                Duration.ofSeconds(5), 0, 100);
+        Mono<String> attempt = Mono.just("ok").delayElement(Duration.ofMillis(30));
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            hedger.hedge(attempt).block(Duration.ofSeconds(1));
+        }
+
+        // Then
+        assertThat(hedger.currentDelay()).isBetween(Duration.ofMillis(30), Duration.ofSeconds(1));
+        assertThat(meterRegistry.get("aviation_api_hedge_delay").timeGauge().value()).isLessThan(1);
+    }
+
+    private RequestHedger hedger(double budgetPercent) {
+        return hedger(budgetPercent, unlimited());
+    }
+
+    private RequestHedger hedger(double budgetPercent, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        return new RequestHedger(meterRegistry, concurrencyLimiter, true, 95, Duration.ofMillis(50),
+                Duration.ofMillis(50), budgetPercent, 1000);
+    }
+
+    private AdaptiveConcurrencyLimiter unlimited() {
+        return limiter(false, 1);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(boolean enabled, int limit) {
+        return new AdaptiveConcurrencyLimiter(meterRegistry, enabled, limit, limit, limit, 0.9, Duration.ofSeconds(2),
+                10, Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,140 @@
+package com.sporty.aviation_wrapper.config;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquirePendingLimitException;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Upstream HTTP Transport Tests")
+class AppConfigTest {
+
+    private final AppConfig appConfig = new AppConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WireMockServer wireMockServer;
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+        wireMockServer.start();
+        // Reactor Netty registers its pool meters in the global registry, which also holds the meters of pools
+        // created by other tests, so lookups are narrowed to this test's upstream address
+        Metrics.addRegistry(meterRegistry);
+
+        // Generous timeouts, the first request to a freshly started WireMock can be slow
+        UpstreamHttpProperties properties = properties(Duration.ofSeconds(5));
+        connectionProvider = appConfig.upstreamConnectionProvider(properties);
+        webClient = appConfig.upstreamWebClient(WebClient.builder(), connectionProvider, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.dispose();
+        Metrics.removeRegistry(meterRegistry);
+        wireMockServer.stop();
+    }
+
+    @Test
+    @DisplayName("Should reuse pooled keep-alive connections across requests")
+    void upstreamWebClient_ConsecutiveRequests_ReusesPooledConnection() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports")).willReturn(okJson("{}")));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            webClient.get().uri(wireMockServer.baseUrl() + "/v1/airports").retrieve().bodyToMono(String.class)
+                    .block();
+        }
+
+        // Then
+        assertThat(connectionProvider.maxConnections()).isEqualTo(5);
+        Gauge totalConnections = meterRegistry.get("reactor.netty.connection.provider.total.connections")
+                .tag("name", "aviation-api")
+                .tag("remote.address", remoteAddress())
+                .gauge();
+        // A connection returns to the pool asynchronously, the next request may still open a second one
+        assertThat(totalConnections.value()).isLessThan(5);
+    }
+
+    @Test
+    @DisplayName("Should bound the acquire queue and time the wait for a pooled connection")
+    void upstreamWebClient_PoolExhausted_RejectsBeyondPendingLimitAndTimesWait() {
+        // Given
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports"))
+                .willReturn(okJson("{}").withFixedDelay(200)));
+        List<Mono<String>> requests = IntStream.range(0, 7)
+                .mapToObj(i -> webClient.get().uri(wireMockServer.baseUrl() + "/v1/airports").retrieve()
+                        .bodyToMono(String.class)
+                        .onErrorReturn(error -> error.getCause() instanceof PoolAcquirePendingLimitException,
+                                "rejected"))
+                .toList();
+
+        // When
+        List<String> responses = Flux.merge(requests).collectList().block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(responses).hasSize(7).filteredOn("rejected"::equals).hasSize(1);
+        Gauge maxPending = meterRegistry.get("reactor.netty.connection.provider.max.pending.connections")
+                .tag("name", "aviation-api")
+                .tag("remote.address", remoteAddress())
+                .gauge();
+        assertThat(maxPending.value()).isEqualTo(1);
+        Timer pendingTime = meterRegistry.get("reactor.netty.connection.provider.pending.connections.time")
+                .tag("name", "aviation-api")
+                .tag("remote.address", remoteAddress())
+                .tag("status", "SUCCESS")
+                .timer();
+        // Five requests get a connection at once, only the one queued behind them waits
+        assertThat(pendingTime.count()).isEqualTo(1);
+        assertThat(pendingTime.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("Should fail with a read timeout when upstream responds slower than the response timeout")
+    void upstreamWebClient_SlowUpstream_TimesOut() {
+        // Given
+        WebClient impatientClient = appConfig.upstreamWebClient(WebClient.builder(), connectionProvider,
+                properties(Duration.ofMillis(500)));
+        wireMockServer.stubFor(get(urlPathEqualTo("/v1/airports"))
+                .willReturn(okJson("{}").withFixedDelay(2000)));
+
+        // When & Then
+        assertThatThrownBy(() -> impatientClient.get().uri(wireMockServer.baseUrl() + "/v1/airports").retrieve()
+                .bodyToMono(String.class).block())
+                .isInstanceOf(WebClientRequestException.class)
+                .hasCauseInstanceOf(ReadTimeoutException.class);
+    }
+
+    private static UpstreamHttpProperties properties(Duration readTimeout) {
+        return new UpstreamHttpProperties(5, Duration.ofSeconds(1), readTimeout, readTimeout, Duration.ofSeconds(1), 1,
+                Duration.ofSeconds(30), Duration.ofMinutes(5), 0);
+    }
+
+    private String remoteAddress() {
+        return "localhost:" + wireMockServer.port();
+    }
+}
@@ -0,0 +1,121 @@
+package com.sporty.aviation_wrapper.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import com.sporty.aviation_wrapper.service.AirportDatasetIndex;
+import com.sporty.aviation_wrapper.service.AirportIndexes;
+import com.sporty.aviation_wrapper.service.CompactAirport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Cache Configuration Tests")
+class CacheConfigTest {
+
+    @Test
+    @DisplayName("Should build bounded cache with expiry and statistics from spec")
+    void buildCache_SizeSpec_AppliesLimitsAndStats() {
+        // When
+        Cache<Object, Object> cache = CacheConfig.buildCache("maximumSize=10,expireAfterWrite=15m,recordStats");
+
+        // Then
+        assertThat(cache.policy().eviction()).hasValueSatisfying(eviction ->
+                assertThat(eviction.getMaximum()).isEqualTo(10));
+        assertThat(cache.policy().expireAfterWrite()).hasValueSatisfying(expiration ->
+                assertThat(expiration.getExpiresAfter()).isEqualTo(Duration.ofMinutes(15)));
+        assertThat(cache.policy().isRecordingStats()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should weigh entries when spec uses maximumWeight")
+    void buildCache_WeightSpec_UsesEntryWeigher() {
+        // Given
+        Cache<Object, Object> cache = CacheConfig.buildCache("maximumWeight=100000,expireAfterAccess=1h");
+        AirportDto airport = new AirportDto("KBAB", "BAB", "Beale Air Force Base", "Western", "Los Angeles ADO",
+                "CA", "California", "Marysville", "Yuba County", "39.1361", "-121.4367", 113);
+
+        // When
+        cache.put("KBAB", airport);
+        cache.cleanUp();
+
+        // Then
+        assertThat(cache.policy().eviction()).hasValueSatisfying(eviction -> {
+            assertThat(eviction.isWeighted()).isTrue();
+            assertThat(eviction.weightedSize().orElseThrow()).isGreaterThan(100);
+        });
+    }
+
+    @Test
+    @DisplayName("Should weigh a compact airport below the equivalent DTO")
+    void entryWeigher_CompactAirport_WeighsLessThanDto() {
+        // Given
+        CacheConfig.EntryWeigher weigher = new CacheConfig.EntryWeigher();
+        AirportDto airport = new AirportDto("KBAB", "BAB", "Beale Air Force Base", "Western", "Los Angeles ADO",
+                "CA", "California", "Marysville", "Yuba County", "39.1361", "-121.4367", 113);
+
+        // When
+        int dtoWeight = weigher.weigh("KBAB", airport);
+        int compactWeight = weigher.weigh("KBAB", CompactAirport.of(airport));
+
+        // Then
+        assertThat(compactWeight).isLessThan(dtoWeight);
+    }
+
+    @Test
+    @DisplayName("Should register one cache per configured spec")
+    void perCacheSpecCustomizer_RegistersConfiguredCaches() {
+        // Given
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        AviationCacheProperties properties = new AviationCacheProperties(
+                Map.of(CacheConfig.AIRPORTS_CACHE, "maximumSize=5,recordStats"));
+
+        // When
+        new CacheConfig().perCacheSpecCustomizer(properties, new AirportIndexes(new SimpleMeterRegistry()),
+                mock(AirportDatasetIndex.class)).customize(cacheManager);
+
+        // Then
+        assertThat(cacheManager.getCacheNames()).contains(CacheConfig.AIRPORTS_CACHE);
+        var nativeCache = (Cache<?, ?>) cacheManager.getCache(CacheConfig.AIRPORTS_CACHE).getNativeCache();
+        assertThat(nativeCache.policy().eviction()).hasValueSatisfying(eviction ->
+                assertThat(eviction.getMaximum()).isEqualTo(5));
+    }
+
+    @Test
+    @DisplayName("Should drop airports evicted from the cache from the indexes, except dataset airports")
+    void indexEvictionListener_EvictedAirports_LeaveIndexes() {
+        // Given
+        AirportIndexes indexes = new AirportIndexes(new SimpleMeterRegistry());
+        AirportDatasetIndex datasetIndex = mock(AirportDatasetIndex.class);
+        CompactAirport datasetAirport = createAirport("KSFO", "SFO");
+        when(datasetIndex.getEntry(3)).thenReturn(datasetAirport);
+        Cache<Object, Object> cache = CacheConfig.buildCache("maximumSize=0",
+                CacheConfig.indexEvictionListener(indexes, datasetIndex));
+
+        // When
+        for (var entry : Map.of(1, createAirport("KBAB", "BAB"), 2, createAirport("KJFK", "JFK"),
+                3, datasetAirport).entrySet()) {
+            indexes.add(entry.getValue());
+            cache.put(entry.getKey(), entry.getValue());
+        }
+        cache.cleanUp();
+
+        // Then
+        assertThat(cache.estimatedSize()).isZero();
+        assertThat(indexes.size()).isEqualTo(1);
+        assertThat(indexes.secondary().getByFaaIdent("SFO").icao()).isEqualTo("KSFO");
+        assertThat(indexes.secondary().getByFaaIdent("BAB")).isNull();
+    }
+
+    private CompactAirport createAirport(String icaoCode, String faaIdent) {
+        return CompactAirport.of(new AirportDto(icaoCode, faaIdent, "Test Airport " + icaoCode, "Western", null,
+                "CA", "California", "Sample City", "Sample County", "39.1361", "-121.4367", 113));
+    }
+}
@@ -1,7 +1,13 @@
 package com.sporty.aviation_wrapper.controller;
 
+import com.sporty.aviation_wrapper.dto.AirportBatchResponse;
 import com.sporty.aviation_wrapper.dto.AirportDto;
+import com.sporty.aviation_wrapper.exception.AirportNotFoundException;
+import com.sporty.aviation_wrapper.service.AirportExporter;
+import com.sporty.aviation_wrapper.service.AirportSerializer;
 import com.sporty.aviation_wrapper.service.AirportService;
+import com.sporty.aviation_wrapper.service.CompactAirport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,18 +15,27 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 // Integration tests using @WebMvcTest for validation testing
 @WebMvcTest(AirportController.class)
+@Import({AirportSerializer.class, SimpleMeterRegistry.class})
 @DisplayName("Integration Tests with Validation")
 class AirportControllerIntegrationTests {
 
@@ -30,6 +45,9 @@ class AirportControllerIntegrationTests {
     @MockitoBean
     private AirportService airportService;
 
+    @MockitoBean
+    private AirportExporter airportExporter;
+
     private AirportDto sampleAirportDto;
 
     @BeforeEach
@@ -58,7 +76,7 @@ class AirportControllerIntegrationTests {
         mockMvc.perform(get("/api/v1/airports/" + icaoCode))
                 .andExpect(status().isBadRequest());
 
-        verify(airportService, never()).getAirportByIcao(anyString());
+        verify(airportService, never()).getAirportEntryByIcao(anyString());
     }
 
     static Stream<String> getAirportByIcao_IcaoCodeValidation_Returns400() {
@@ -71,15 +89,39 @@ class AirportControllerIntegrationTests {
     void getAirportByIcao_ValidIcaoCodeViaMockMvc_Returns200() throws Exception {
         // Given
         String validIcaoCode = "KBAB";
-        when(airportService.getAirportByIcao(validIcaoCode)).thenReturn(sampleAirportDto);
+        when(airportService.getAirportEntryByIcao(validIcaoCode)).thenReturn(CompletableFuture.completedFuture(CompactAirport.of(sampleAirportDto)));
 
         // When & Then
-        mockMvc.perform(get("/api/v1/airports/" + validIcaoCode))
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/v1/airports/" + validIcaoCode))
+                        .andExpect(request().asyncStarted())
+                        .andReturn()))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType("application/json"))
                 .andExpect(jsonPath("$.icao").value(validIcaoCode));
 
-        verify(airportService, times(1)).getAirportByIcao(validIcaoCode);
+        verify(airportService, times(1)).getAirportEntryByIcao(validIcaoCode);
+    }
+
+    @Test
+    @DisplayName("Should send ETag and Cache-Control and answer a matching If-None-Match with 304")
+    void getAirportByIcao_IfNoneMatchViaMockMvc_Returns304() throws Exception {
+        // Given
+        CompactAirport airport = CompactAirport.of(sampleAirportDto);
+        when(airportService.getAirportEntryByIcao("KBAB")).thenReturn(CompletableFuture.completedFuture(airport));
+
+        // When & Then
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/v1/airports/KBAB"))
+                        .andExpect(request().asyncStarted())
+                        .andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", airport.etag()))
+                .andExpect(header().string("Cache-Control", "max-age=900, public, stale-while-revalidate=3600"));
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/v1/airports/KBAB")
+                                .header("If-None-Match", airport.etag()))
+                        .andExpect(request().asyncStarted())
+                        .andReturn()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
     }
 
     @Test
@@ -87,14 +129,16 @@ class AirportControllerIntegrationTests {
     void getAirportByIcao_MixedCaseIcaoCodeViaMockMvc_Returns200() throws Exception {
         // Given
         String mixedCaseIcaoCode = "KbAb";
-        when(airportService.getAirportByIcao(mixedCaseIcaoCode)).thenReturn(sampleAirportDto);
+        when(airportService.getAirportEntryByIcao(mixedCaseIcaoCode)).thenReturn(CompletableFuture.completedFuture(CompactAirport.of(sampleAirportDto)));
 
         // When & Then
-        mockMvc.perform(get("/api/v1/airports/" + mixedCaseIcaoCode))
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/v1/airports/" + mixedCaseIcaoCode))
+                        .andExpect(request().asyncStarted())
+                        .andReturn()))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType("application/json"));
 
-        verify(airportService, times(1)).getAirportByIcao(mixedCaseIcaoCode);
+        verify(airportService, times(1)).getAirportEntryByIcao(mixedCaseIcaoCode);
     }
 
     @Test
@@ -102,14 +146,100 @@ class AirportControllerIntegrationTests {
     void getAirportByIcao_CorrectEndpointMapping_IsAccessible() throws Exception {
         // Given
         String validIcaoCode = "EGLL";
-        when(airportService.getAirportByIcao(validIcaoCode)).thenReturn(sampleAirportDto);
+        when(airportService.getAirportEntryByIcao(validIcaoCode)).thenReturn(CompletableFuture.completedFuture(CompactAirport.of(sampleAirportDto)));
 
         // When & Then
-        mockMvc.perform(get("/api/v1/airports/" + validIcaoCode))
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/v1/airports/" + validIcaoCode))
+                        .andExpect(request().asyncStarted())
+                        .andReturn()))
                 .andExpect(status().isOk());
 
         // Verify wrong endpoint returns 404
         mockMvc.perform(get("/api/v2/airports/" + validIcaoCode))
                 .andExpect(status().isInternalServerError());
     }
+
+    @Test
+    @DisplayName("Should map asynchronous not found failure to 404")
+    void getAirportByIcao_AirportNotFoundAsync_Returns404() throws Exception {
+        // Given
+        when(airportService.getAirportEntryByIcao("XXXX"))
+                .thenReturn(CompletableFuture.failedFuture(new AirportNotFoundException("XXXX")));
+
+        // When & Then
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/v1/airports/XXXX"))
+                        .andExpect(request().asyncStarted())
+                        .andReturn()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return per-code results for batch request")
+    void getAirportsByIcao_ValidBatchRequest_Returns200() throws Exception {
+        // Given
+        AirportBatchResponse batchResponse = new AirportBatchResponse(
+                Map.of("KBAB", sampleAirportDto),
+                Map.of("XXXX", new AirportBatchResponse.Failure(404, "Airport with ICAO code 'XXXX' not found")));
+        when(airportService.getAirportsByIcao(List.of("KBAB", "XXXX"))).thenReturn(CompletableFuture.completedFuture(batchResponse));
+
+        // When & Then
+        mockMvc.perform(asyncDispatch(mockMvc.perform(post("/api/v1/airports/batch")
+                        .contentType("application/json")
+                        .content("{\"icaoCodes\": [\"KBAB\", \"XXXX\"]}"))
+                        .andExpect(request().asyncStarted())
+                        .andReturn()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.airports.KBAB.icao").value("KBAB"))
+                .andExpect(jsonPath("$.errors.XXXX.status").value(404));
+    }
+
+    @Test
+    @DisplayName("Should reject empty batch request")
+    void getAirportsByIcao_EmptyBatchRequest_Returns400() throws Exception {
+        mockMvc.perform(post("/api/v1/airports/batch")
+                        .contentType("application/json")
+                        .content("{\"icaoCodes\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verify(airportService, never()).getAirportsByIcao(anyList());
+    }
+
+    @Test
+    @DisplayName("Should stream the export with its media type and Last-Modified")
+    void exportAirports_CsvFormat_StreamsExport() throws Exception {
+        // Given
+        when(airportExporter.lastModified()).thenReturn(Instant.parse("2025-01-01T00:00:00Z"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/airports/export").param("format", "CSV").param("state", "NY"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Last-Modified", "Wed, 01 Jan 2025 00:00:00 GMT"));
+
+        verify(airportExporter, times(1))
+                .export(eq("NY"), isNull(), eq(AirportExporter.Format.CSV), any());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without exporting when nothing changed since If-Modified-Since")
+    void exportAirports_NotModifiedSince_Returns304() throws Exception {
+        // Given
+        when(airportExporter.lastModified()).thenReturn(Instant.parse("2025-01-01T00:00:00Z"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/airports/export")
+                        .header("If-Modified-Since", "Wed, 01 Jan 2025 00:00:00 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(airportExporter, never()).export(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown export formats")
+    void exportAirports_UnknownFormat_Returns400() throws Exception {
+        mockMvc.perform(get("/api/v1/airports/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(airportExporter, never()).export(any(), any(), any(), any());
+    }
 }
\ No newline at end of file
@@ -1,20 +1,32 @@
 package com.sporty.aviation_wrapper.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sporty.aviation_wrapper.dto.AirportDto;
 import com.sporty.aviation_wrapper.exception.UpstreamServiceException;
+import com.sporty.aviation_wrapper.service.AirportExporter;
+import com.sporty.aviation_wrapper.service.AirportSerializer;
 import com.sporty.aviation_wrapper.service.AirportService;
+import com.sporty.aviation_wrapper.service.CompactAirport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPInputStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -28,13 +40,19 @@ class AirportControllerTest {
         @Mock
         private AirportService airportService;
 
-        @InjectMocks
+        @Mock
+        private AirportExporter airportExporter;
+
         private AirportController airportController;
 
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
         private AirportDto sampleAirportDto;
 
         @BeforeEach
         void setUp() {
+            airportController = createController(Duration.ofSeconds(10), false, false);
+
             // Create sample AirportDto record for testing
             sampleAirportDto = new AirportDto(
                     "KBAB",                    // icao
@@ -57,16 +75,36 @@ class AirportControllerTest {
         void getAirportByIcao_ValidIcaoCode_ReturnsAirport() {
             // Given
             String validIcaoCode = "KBAB";
-            when(airportService.getAirportByIcao(validIcaoCode)).thenReturn(sampleAirportDto);
+            when(airportService.getAirportEntryByIcao(validIcaoCode)).thenReturn(CompletableFuture.completedFuture(CompactAirport.of(sampleAirportDto)));
 
             // When
-            ResponseEntity<AirportDto> response = airportController.getAirportByIcao(validIcaoCode);
+            ResponseEntity<?> response = airportController.getAirportByIcao(validIcaoCode, null, null).join();
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(response.getBody()).isNotNull();
-            assertThat(response.getBody().icao()).isEqualTo(validIcaoCode);
-            verify(airportService, times(1)).getAirportByIcao(validIcaoCode);
+            assertThat(((AirportDto) response.getBody()).icao()).isEqualTo(validIcaoCode);
+            verify(airportService, times(1)).getAirportEntryByIcao(validIcaoCode);
+        }
+
+        @Test
+        @DisplayName("Should answer 304 without a body when If-None-Match holds the current ETag")
+        void getAirportByIcao_MatchingIfNoneMatch_ReturnsNotModified() {
+            // Given
+            CompactAirport airport = CompactAirport.of(sampleAirportDto);
+            when(airportService.getAirportEntryByIcao("KBAB")).thenReturn(CompletableFuture.completedFuture(airport));
+
+            // When
+            ResponseEntity<?> notModified = airportController
+                    .getAirportByIcao("KBAB", "\"stale\", W/" + airport.etag(), null).join();
+            ResponseEntity<?> modified = airportController.getAirportByIcao("KBAB", "\"stale\"", null).join();
+
+            // Then
+            assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(notModified.getBody()).isNull();
+            assertThat(notModified.getHeaders().getETag()).isEqualTo(airport.etag());
+            assertThat(modified.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(modified.getHeaders().getCacheControl()).isEqualTo("max-age=900, public, stale-while-revalidate=3600");
         }
 
         @Test
@@ -75,15 +113,53 @@ class AirportControllerTest {
             // Given
             String validIcaoCode = "KBAB";
             RuntimeException serviceException = new RuntimeException("Service error");
-            when(airportService.getAirportByIcao(validIcaoCode)).thenThrow(serviceException);
+            when(airportService.getAirportEntryByIcao(validIcaoCode)).thenThrow(serviceException);
 
             // When & Then
-            assertThatThrownBy(() -> airportController.getAirportByIcao(validIcaoCode))
+            assertThatThrownBy(() -> airportController.getAirportByIcao(validIcaoCode, null, null))
                     .isInstanceOf(UpstreamServiceException.class)
                     .hasMessage("Service error")
                     .hasCause(serviceException);
 
-            verify(airportService, times(1)).getAirportByIcao(validIcaoCode);
+            verify(airportService, times(1)).getAirportEntryByIcao(validIcaoCode);
+        }
+
+        @Test
+        @DisplayName("Should complete with UpstreamServiceException when service future fails")
+        void getAirportByIcao_ServiceFutureFails_CompletesWithUpstreamServiceException() {
+            // Given
+            String validIcaoCode = "KBAB";
+            RuntimeException serviceException = new RuntimeException("Service error");
+            when(airportService.getAirportEntryByIcao(validIcaoCode))
+                    .thenReturn(CompletableFuture.failedFuture(serviceException));
+
+            // When
+            CompletableFuture<ResponseEntity<?>> response = airportController.getAirportByIcao(validIcaoCode, null, null);
+
+            // Then
+            assertThatThrownBy(response::join)
+                    .isInstanceOf(CompletionException.class)
+                    .cause()
+                    .isInstanceOf(UpstreamServiceException.class)
+                    .hasMessage("Service error")
+                    .hasCause(serviceException);
+        }
+
+        @Test
+        @DisplayName("Should complete with timeout error when service does not answer in time")
+        void getAirportByIcao_ServiceTooSlow_CompletesWithTimeoutError() {
+            // Given
+            airportController = createController(Duration.ofMillis(10), false, false);
+            when(airportService.getAirportEntryByIcao("KBAB")).thenReturn(new CompletableFuture<>());
+
+            // When
+            CompletableFuture<ResponseEntity<?>> response = airportController.getAirportByIcao("KBAB", null, null);
+
+            // Then
+            assertThatThrownBy(response::join)
+                    .cause()
+                    .isInstanceOf(UpstreamServiceException.class)
+                    .hasMessageContaining("timeout");
         }
 
         @Test
@@ -91,15 +167,15 @@ class AirportControllerTest {
         void getAirportByIcao_UppercaseIcaoCode_ReturnsAirport() {
             // Given
             String uppercaseIcaoCode = "KBAB";
-            when(airportService.getAirportByIcao(uppercaseIcaoCode)).thenReturn(sampleAirportDto);
+            when(airportService.getAirportEntryByIcao(uppercaseIcaoCode)).thenReturn(CompletableFuture.completedFuture(CompactAirport.of(sampleAirportDto)));
 
             // When
-            ResponseEntity<AirportDto> response = airportController.getAirportByIcao(uppercaseIcaoCode);
+            ResponseEntity<?> response = airportController.getAirportByIcao(uppercaseIcaoCode, null, null).join();
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(response.getBody()).isNotNull();
-            verify(airportService, times(1)).getAirportByIcao(uppercaseIcaoCode);
+            verify(airportService, times(1)).getAirportEntryByIcao(uppercaseIcaoCode);
         }
 
         @Test
@@ -107,15 +183,15 @@ class AirportControllerTest {
         void getAirportByIcao_LowercaseIcaoCode_ReturnsAirport() {
             // Given
             String lowercaseIcaoCode = "kbab";
-            when(airportService.getAirportByIcao(lowercaseIcaoCode)).thenReturn(sampleAirportDto);
+            when(airportService.getAirportEntryByIcao(lowercaseIcaoCode)).thenReturn(CompletableFuture.completedFuture(CompactAirport.of(sampleAirportDto)));
 
             // When
-            ResponseEntity<AirportDto> response = airportController.getAirportByIcao(lowercaseIcaoCode);
+            ResponseEntity<?> response = airportController.getAirportByIcao(lowercaseIcaoCode, null, null).join();
 
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(response.getBody()).isNotNull();
-            verify(airportService, times(1)).getAirportByIcao(lowercaseIcaoCode);
+            verify(airportService, times(1)).getAirportEntryByIcao(lowercaseIcaoCode);
         }
 
         @Test
@@ -123,13 +199,66 @@ class AirportControllerTest {
         void getAirportByIcao_ValidRequest_CallsServiceOnce() {
             // Given
             String validIcaoCode = "KJFK";
-            when(airportService.getAirportByIcao(validIcaoCode)).thenReturn(sampleAirportDto);
+            when(airportService.getAirportEntryByIcao(validIcaoCode)).thenReturn(CompletableFuture.completedFuture(CompactAirport.of(sampleAirportDto)));
 
             // When
-            airportController.getAirportByIcao(validIcaoCode);
+            airportController.getAirportByIcao(validIcaoCode, null, null).join();
 
             // Then
-            verify(airportService, times(1)).getAirportByIcao(validIcaoCode);
+            verify(airportService, times(1)).getAirportEntryByIcao(validIcaoCode);
             verifyNoMoreInteractions(airportService);
         }
+
+        @Test
+        @DisplayName("Should write the entry's pre-serialized JSON bytes and reuse them on later hits")
+        void getAirportByIcao_PreSerializedEnabled_ReturnsCachedBytes() throws Exception {
+            // Given
+            airportController = createController(Duration.ofSeconds(10), true, false);
+            CompactAirport airport = CompactAirport.of(sampleAirportDto);
+            when(airportService.getAirportEntryByIcao("KBAB")).thenReturn(CompletableFuture.completedFuture(airport));
+
+            // When
+            ResponseEntity<?> first = airportController.getAirportByIcao("KBAB", null, null).join();
+            ResponseEntity<?> second = airportController.getAirportByIcao("KBAB", null, null).join();
+
+            // Then
+            assertThat(first.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(first.getBody()).isInstanceOf(byte[].class).isSameAs(second.getBody());
+            assertThat(new ObjectMapper().readValue((byte[]) first.getBody(), AirportDto.class))
+                    .isEqualTo(sampleAirportDto);
+            assertThat(meterRegistry.get("airport_response_serialization").tag("outcome", "miss").timer().count())
+                    .isEqualTo(1);
+            assertThat(meterRegistry.get("airport_response_serialization").tag("outcome", "hit").timer().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should send pre-compressed gzip bytes only to clients accepting gzip")
+        void getAirportByIcao_GzipEnabled_NegotiatesEncoding() throws Exception {
+            // Given
+            airportController = createController(Duration.ofSeconds(10), true, true);
+            CompactAirport airport = CompactAirport.of(sampleAirportDto);
+            when(airportService.getAirportEntryByIcao("KBAB")).thenReturn(CompletableFuture.completedFuture(airport));
+
+            // When
+            ResponseEntity<?> gzip = airportController.getAirportByIcao("KBAB", null, "gzip, deflate").join();
+            ResponseEntity<?> identity = airportController.getAirportByIcao("KBAB", null, null).join();
+            ResponseEntity<?> revalidated = airportController
+                    .getAirportByIcao("KBAB", gzip.getHeaders().getETag(), "gzip").join();
+
+            // Then
+            assertThat(gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+            assertThat(gzip.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+            assertThat(gzip.getHeaders().getETag()).isNotEqualTo(identity.getHeaders().getETag());
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream((byte[]) gzip.getBody()))) {
+                assertThat(in.readAllBytes()).isEqualTo((byte[]) identity.getBody());
+            }
+            assertThat(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+            assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        }
+
+        private AirportController createController(Duration requestTimeout, boolean preSerialized, boolean gzip) {
+            AirportSerializer serializer = new AirportSerializer(new ObjectMapper(), meterRegistry, preSerialized, gzip);
+            return new AirportController(airportService, serializer, airportExporter, requestTimeout, Duration.ofMinutes(15), Duration.ofHours(1));
+        }
     }
@@ -0,0 +1,227 @@
+package com.sporty.aviation_wrapper.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sporty.aviation_wrapper.AviationApiWrapperApplication;
+import com.sporty.aviation_wrapper.config.CacheConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Release baseline: throughput and tail latency of the whole application against a local upstream stand-in.
+ * Load is open-model, requests leave at a fixed rate whether or not earlier ones completed, and latency is
+ * measured from the time a request was due, so a stalled server shows up in the tail instead of slowing the
+ * load down. Airports are picked with a Zipfian distribution over the stand-in's airport set.
+ * Results are printed and written as JSON to {@code load.results-dir}/release-load.json to track regressions.
+ * Run with {@code mvn -Pload-test test -Dtest=ReleaseLoadTest}, tune with {@code -Dload.rps}, {@code -Dload.duration},
+ * {@code -Dload.airports}, {@code -Dload.zipf-exponent}, {@code -Dload.upstream-latency}
+ * ({@code fixed:50}, {@code uniform:20-200}, {@code lognormal:80:0.5}) and {@code -Dload.upstream-error-rate};
+ * {@code -Dload.max-p99-ms} and {@code -Dload.max-error-rate} turn the run into a pass/fail gate.
+ */
+@Tag("load")
+@DisplayName("Release Load Scenario")
+class ReleaseLoadTest {
+
+    private static final int RPS = Integer.getInteger("load.rps", 500);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration", 30));
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+    private static final int AIRPORTS = Integer.getInteger("load.airports", 5000);
+    private static final double ZIPF_EXPONENT = Double.parseDouble(System.getProperty("load.zipf-exponent", "0.99"));
+    private static final String UPSTREAM_LATENCY = System.getProperty("load.upstream-latency", "lognormal:80:0.5");
+    private static final double UPSTREAM_ERROR_RATE =
+            Double.parseDouble(System.getProperty("load.upstream-error-rate", "0.0"));
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.max-in-flight", 5000);
+    private static final Path RESULTS_DIR = Path.of(System.getProperty("load.results-dir", "target/load-results"));
+    private static final double MAX_P99_MILLIS = Double.parseDouble(System.getProperty("load.max-p99-ms", "0"));
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "1.0"));
+
+    private static UpstreamStandIn upstream;
+    private static final ZipfianKeys keys = new ZipfianKeys(AIRPORTS, ZIPF_EXPONENT);
+
+    @BeforeAll
+    static void startUpstream() {
+        upstream = new UpstreamStandIn(AIRPORTS, UPSTREAM_LATENCY, UPSTREAM_ERROR_RATE, 200);
+        upstream.start();
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop();
+    }
+
+    @Test
+    @DisplayName("Should sustain the configured rate against the upstream stand-in and record the baseline")
+    void releaseBaseline() throws Exception {
+        LoadReport report;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AviationApiWrapperApplication.class)
+                .properties(
+                        "server.port=0",
+                        "aviation.api.base-url=" + upstream.baseUrl(),
+                        "aviation.api.http.warmup-connections=0",
+                        "aviation.cache.snapshot.enabled=false",
+                        "logging.level.root=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            drive(client, port, WARMUP);
+            long upstreamCalls = upstream.calls();
+            double cacheHits = cacheGets(meterRegistry, "hit");
+            double cacheMisses = cacheGets(meterRegistry, "miss");
+
+            Phase phase = drive(client, port, DURATION);
+            report = phase.report(upstream.calls() - upstreamCalls,
+                    cacheGets(meterRegistry, "hit") - cacheHits, cacheGets(meterRegistry, "miss") - cacheMisses);
+        }
+
+        Files.createDirectories(RESULTS_DIR);
+        Path results = RESULTS_DIR.resolve("release-load.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(results.toFile(), report);
+
+        System.out.printf("%n%d req/s for %d s over %d airports (zipf %.2f), upstream %s, %.1f%% upstream errors%n",
+                RPS, DURATION.toSeconds(), AIRPORTS, ZIPF_EXPONENT, UPSTREAM_LATENCY, UPSTREAM_ERROR_RATE * 100);
+        System.out.printf("%10s %8s %8s %8s %8s %8s %8s %10s %12s%n",
+                "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors", "dropped", "cache hit", "upstream");
+        LatencyMillis latency = report.latencyMillis();
+        System.out.printf("%10.1f %8.1f %8.1f %8.1f %8.1f %8d %8d %9.1f%% %12d%n",
+                report.achievedRps(), latency.p50(), latency.p99(), latency.p999(), latency.max(),
+                report.errors(), report.dropped(), report.cacheHitRatio() * 100, report.upstreamCalls());
+        System.out.println("Results written to " + results.toAbsolutePath());
+
+        assertThat(report.requests()).isPositive();
+        assertThat(report.errorRate()).isLessThanOrEqualTo(MAX_ERROR_RATE);
+        if (MAX_P99_MILLIS > 0) {
+            assertThat(latency.p99()).isLessThanOrEqualTo(MAX_P99_MILLIS);
+        }
+    }
+
+    /**
+     * Sends {@code RPS} requests per second for the duration, then waits for the outstanding ones.
+     * Requests due while {@code load.max-in-flight} are outstanding are dropped and reported, not queued.
+     */
+    private Phase drive(HttpClient client, int port, Duration duration) throws InterruptedException {
+        int planned = (int) (RPS * duration.toSeconds());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RPS;
+        long[] latencies = new long[planned];
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger dropped = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        CountDownLatch done = new CountDownLatch(planned);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < planned; i++) {
+            long due = start + i * intervalNanos;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                dropped.incrementAndGet();
+                done.countDown();
+                continue;
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                            + "/api/v1/airports/" + UpstreamStandIn.icaoCode(keys.next())))
+                    .timeout(Duration.ofSeconds(15))
+                    .build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                latencies[completed.getAndIncrement()] = System.nanoTime() - due;
+                if (failure != null || response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await(30, TimeUnit.SECONDS);
+        long elapsedNanos = System.nanoTime() - start;
+
+        long[] sorted = Arrays.copyOf(latencies, completed.get());
+        Arrays.sort(sorted);
+        return new Phase(sorted, errors.get(), dropped.get(), elapsedNanos);
+    }
+
+    /**
+     * Reads the Caffeine statistics Spring Boot binds for the airports cache
+     */
+    private static double cacheGets(MeterRegistry meterRegistry, String result) {
+        FunctionCounter gets = meterRegistry.find("cache.gets")
+                .tag("cache", CacheConfig.AIRPORTS_CACHE)
+                .tag("result", result)
+                .functionCounter();
+        return gets == null ? 0 : gets.count();
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private record Phase(long[] sortedLatencies, int errors, int dropped, long elapsedNanos) {
+
+        LoadReport report(long upstreamCalls, double cacheHits, double cacheMisses) {
+            int requests = sortedLatencies.length;
+            double lookups = cacheHits + cacheMisses;
+            return new LoadReport(
+                    Instant.now().toString(),
+                    new LoadConfig(RPS, DURATION.toSeconds(), AIRPORTS, ZIPF_EXPONENT, UPSTREAM_LATENCY,
+                            UPSTREAM_ERROR_RATE),
+                    requests / (elapsedNanos / 1e9),
+                    requests,
+                    errors,
+                    dropped,
+                    requests == 0 ? 0 : errors / (double) requests,
+                    new LatencyMillis(percentile(sortedLatencies, 0.50), percentile(sortedLatencies, 0.90),
+                            percentile(sortedLatencies, 0.99), percentile(sortedLatencies, 0.999),
+                            percentile(sortedLatencies, 1.0)),
+                    lookups == 0 ? 0 : cacheHits / lookups,
+                    upstreamCalls,
+                    requests == 0 ? 0 : upstreamCalls / (double) requests);
+        }
+    }
+
+    record LoadConfig(int rps, long durationSeconds, int airports, double zipfExponent, String upstreamLatency,
+            double upstreamErrorRate) {
+    }
+
+    record LatencyMillis(double p50, double p90, double p99, double p999, double max) {
+    }
+
+    record LoadReport(String timestamp, LoadConfig config, double achievedRps, int requests, int errors,
+            int dropped, double errorRate, LatencyMillis latencyMillis, double cacheHitRatio, long upstreamCalls,
+            double upstreamCallsPerRequest) {
+    }
+}
@@ -0,0 +1,175 @@
+package com.sporty.aviation_wrapper.load;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.sporty.aviation_wrapper.AviationApiWrapperApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares throughput and p99 latency of the platform and the virtual thread mode against a slow upstream.
+ * Every request asks for a distinct ICAO code, so each one is a cache miss that waits for the upstream.
+ * Run with {@code mvn -Pload-test test}, tune with {@code -Dload.clients}, {@code -Dload.duration}
+ * and {@code -Dload.upstream-delay-ms}.
+ */
+@Tag("load")
+@DisplayName("Thread Model Load Scenario")
+class ThreadModelLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 400);
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration", 20));
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final int UPSTREAM_DELAY_MS = Integer.getInteger("load.upstream-delay-ms", 200);
+
+    private static WireMockServer upstream;
+    private static final AtomicInteger codeSequence = new AtomicInteger();
+
+    @BeforeAll
+    static void startUpstream() {
+        upstream = new WireMockServer(WireMockConfiguration.options()
+                .dynamicPort()
+                .containerThreads(CLIENTS + 50));
+        upstream.start();
+        upstream.stubFor(get(urlPathEqualTo("/v1/airports"))
+                .willReturn(okJson("{\"{{request.query.apt}}\": [{\"icao_ident\": \"{{request.query.apt}}\","
+                        + " \"facility_name\": \"Load Test Airport\"}]}")
+                        .withTransformers("response-template")
+                        .withFixedDelay(UPSTREAM_DELAY_MS)));
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop();
+    }
+
+    @Test
+    @DisplayName("Should serve the slow upstream scenario in both thread modes and report the comparison")
+    void compareThreadModels() throws Exception {
+        LoadResult platform = runScenario(false);
+        LoadResult virtual = runScenario(true);
+
+        System.out.printf("%nUpstream delay %d ms, %d concurrent clients, %d s%n",
+                UPSTREAM_DELAY_MS, CLIENTS, DURATION.toSeconds());
+        System.out.printf("%-10s %12s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "errors");
+        System.out.println(platform.format("platform"));
+        System.out.println(virtual.format("virtual"));
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private LoadResult runScenario(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AviationApiWrapperApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "aviation.api.base-url=" + upstream.baseUrl(),
+                        "aviation.api.micro-batch.enabled=false",
+                        // Every client holds one upstream call, the limiter would cap them instead of the thread model
+                        "aviation.api.concurrency.enabled=false",
+                        "aviation.api.http.max-connections-per-route=" + CLIENTS,
+                        "aviation.api.http.warmup-connections=0",
+                        "aviation.cache.snapshot.enabled=false",
+                        "logging.level.root=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            drive(port, WARMUP);
+            return drive(port, DURATION);
+        }
+    }
+
+    private LoadResult drive(int port, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            AtomicInteger errors = new AtomicInteger();
+            for (int i = 0; i < CLIENTS; i++) {
+                results.add(clients.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(
+                                        URI.create("http://localhost:" + port + "/api/v1/airports/" + nextCode()))
+                                .timeout(Duration.ofSeconds(15))
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - start);
+                    }
+                    return latencies.stream().mapToLong(Long::longValue).toArray();
+                }));
+            }
+
+            List<long[]> perClient = new ArrayList<>();
+            for (Future<long[]> result : results) {
+                perClient.add(result.get());
+            }
+            long[] latencies = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return new LoadResult(latencies.length / (double) duration.toSeconds(),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), errors.get());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    /**
+     * Distinct 4-letter codes, so no request is served from the cache
+     */
+    private static String nextCode() {
+        int n = codeSequence.getAndIncrement();
+        char[] code = new char[4];
+        for (int i = 3; i >= 0; i--) {
+            code[i] = (char) ('A' + n % 26);
+            n /= 26;
+        }
+        return new String(code);
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private record LoadResult(double throughput, double p50Millis, double p99Millis, int errors) {
+
+        String format(String mode) {
+            return String.format("%-10s %12.1f %10.1f %10.1f %8d", mode, throughput, p50Millis, p99Millis, errors);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.sporty.aviation_wrapper.load;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.DelayDistribution;
+import com.github.tomakehurst.wiremock.http.LogNormal;
+import com.github.tomakehurst.wiremock.http.QueryParameter;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.http.UniformDistribution;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.ok;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+
+/**
+ * Local WireMock stand-in for the Aviation API.
+ * Knows the first {@code airports} codes of {@link #icaoCode(int)}, answers single and comma-separated
+ * {@code apt} lookups in the upstream shape after a delay drawn from the latency distribution, and fails the
+ * given share of calls with a 503. Calls are counted here, the request journal is disabled so long runs
+ * do not keep every request in memory.
+ */
+class UpstreamStandIn {
+
+    private final WireMockServer server;
+    private final AirportResponder responder;
+
+    /**
+     * @param latency {@code fixed:<ms>}, {@code uniform:<min ms>-<max ms>} or {@code lognormal:<median ms>:<sigma>}
+     */
+    UpstreamStandIn(int airports, String latency, double errorRate, int threads) {
+        this.responder = new AirportResponder(airports, latency, errorRate);
+        this.server = new WireMockServer(WireMockConfiguration.options()
+                .dynamicPort()
+                .containerThreads(threads)
+                .disableRequestJournal()
+                .extensions(responder));
+    }
+
+    void start() {
+        server.start();
+        server.stubFor(get(urlPathEqualTo("/v1/airports")).willReturn(ok()));
+    }
+
+    void stop() {
+        server.stop();
+    }
+
+    String baseUrl() {
+        return server.baseUrl();
+    }
+
+    long calls() {
+        return responder.calls.get();
+    }
+
+    long failures() {
+        return responder.failures.get();
+    }
+
+    /**
+     * The ICAO code of the airport of the given rank, {@code AAAA}, {@code AAAB}, ...
+     */
+    static String icaoCode(int rank) {
+        char[] code = new char[4];
+        for (int i = 3; i >= 0; i--) {
+            code[i] = (char) ('A' + rank % 26);
+            rank /= 26;
+        }
+        return new String(code);
+    }
+
+    private static int rank(String icaoCode) {
+        if (icaoCode.length() != 4) {
+            return -1;
+        }
+        int rank = 0;
+        for (int i = 0; i < 4; i++) {
+            int letter = Character.toUpperCase(icaoCode.charAt(i)) - 'A';
+            if (letter < 0 || letter >= 26) {
+                return -1;
+            }
+            rank = rank * 26 + letter;
+        }
+        return rank;
+    }
+
+    private static final class AirportResponder implements ResponseDefinitionTransformerV2 {
+
+        private final int airports;
+        private final String latency;
+        private final double errorRate;
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+
+        private AirportResponder(int airports, String latency, double errorRate) {
+            this.airports = airports;
+            this.latency = latency;
+            this.errorRate = errorRate;
+            // Fails on a malformed distribution before the server starts rather than on the first call
+            withLatency(ResponseDefinitionBuilder.responseDefinition());
+        }
+
+        @Override
+        public ResponseDefinition transform(ServeEvent serveEvent) {
+            calls.incrementAndGet();
+            ResponseDefinitionBuilder response = withLatency(ResponseDefinitionBuilder.responseDefinition());
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                failures.incrementAndGet();
+                return response.withStatus(503).build();
+            }
+
+            QueryParameter apt = serveEvent.getRequest().queryParameter("apt");
+            StringBuilder body = new StringBuilder("{");
+            if (apt.isPresent()) {
+                for (String icaoCode : apt.firstValue().split(",")) {
+                    if (body.length() > 1) {
+                        body.append(',');
+                    }
+                    body.append(airportEntry(icaoCode.trim().toUpperCase(Locale.ROOT)));
+                }
+            }
+            return response.withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(body.append('}').toString())
+                    .build();
+        }
+
+        @Override
+        public String getName() {
+            return "aviation-api-stand-in";
+        }
+
+        /**
+         * Unknown codes get an empty array, like the real upstream
+         */
+        private String airportEntry(String icaoCode) {
+            int rank = rank(icaoCode);
+            if (rank < 0 || rank >= airports) {
+                return "\"" + icaoCode + "\":[]";
+            }
+            return String.format(Locale.ROOT, "\"%s\":[{\"icao_ident\":\"%s\",\"faa_ident\":\"%s\","
+                            + "\"facility_name\":\"Load Test Airport %d\",\"region\":\"AWP\",\"state\":\"CA\","
+                            + "\"state_full\":\"CALIFORNIA\",\"city\":\"CITY %d\",\"county\":\"COUNTY\","
+                            + "\"latitude\":\"%.4f\",\"longitude\":\"%.4f\",\"elevation\":\"%d\"}]",
+                    icaoCode, icaoCode, icaoCode.substring(1), rank, rank % 500,
+                    -50 + (rank % 1200) / 10.0, -170 + (rank % 3400) / 10.0, rank % 3000);
+        }
+
+        private ResponseDefinitionBuilder withLatency(ResponseDefinitionBuilder response) {
+            String[] parts = latency.split(":");
+            switch (parts[0]) {
+                case "fixed" -> response.withFixedDelay(Integer.parseInt(parts[1]));
+                case "uniform" -> {
+                    String[] bounds = parts[1].split("-");
+                    response.withRandomDelay(new UniformDistribution(Integer.parseInt(bounds[0]),
+                            Integer.parseInt(bounds[1])));
+                }
+                case "lognormal" -> response.withRandomDelay(lognormal(parts));
+                default -> throw new IllegalArgumentException("Unknown upstream latency distribution: " + latency);
+            }
+            return response;
+        }
+
+        private static DelayDistribution lognormal(String[] parts) {
+            return new LogNormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sporty.aviation_wrapper.config.CacheConfig;
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@DisplayName("Airport Cache Snapshot Tests")
+class AirportCacheSnapshotTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should restore saved airports into an empty cache")
+    void saveAndLoad_RoundTrip_RestoresAirports() {
+        // Given
+        Path path = directory.resolve("airports.snapshot");
+        CaffeineCacheManager source = new CaffeineCacheManager(CacheConfig.AIRPORTS_CACHE);
+        Cache sourceCache = source.getCache(CacheConfig.AIRPORTS_CACHE);
+        sourceCache.put(IcaoKey.pack("KBAB"), CompactAirport.of(createAirportDto("KBAB", 100)));
+        sourceCache.put(IcaoKey.pack("EGLL"), CompactAirport.of(createAirportDto("EGLL", null)));
+        createSnapshot(source, path, Duration.ofHours(1)).save();
+
+        // When
+        CaffeineCacheManager target = new CaffeineCacheManager(CacheConfig.AIRPORTS_CACHE);
+        createSnapshot(target, path, Duration.ofHours(1)).load();
+
+        // Then
+        Cache targetCache = target.getCache(CacheConfig.AIRPORTS_CACHE);
+        assertThat(targetCache.get(IcaoKey.pack("KBAB"), CompactAirport.class).toDto())
+                .isEqualTo(createAirportDto("KBAB", 100));
+        assertThat(targetCache.get(IcaoKey.pack("EGLL"), CompactAirport.class).toDto())
+                .isEqualTo(createAirportDto("EGLL", null));
+    }
+
+    @Test
+    @DisplayName("Should drop entries past the hard TTL and restore the age of the others")
+    void load_AgedEntries_KeepsWriteAge() throws IOException {
+        // Given
+        Path path = directory.resolve("airports.snapshot");
+        Instant now = Instant.now();
+        Map<Integer, CompactAirport> entries = Map.of(
+                IcaoKey.pack("KBAB"), CompactAirport.of(createAirportDto("KBAB", 100)),
+                IcaoKey.pack("EGLL"), CompactAirport.of(createAirportDto("EGLL", null)));
+        Map<Object, Instant> writtenAt = Map.of(
+                IcaoKey.pack("KBAB"), now.minus(Duration.ofMinutes(30)),
+                IcaoKey.pack("EGLL"), now.minus(Duration.ofHours(2)));
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(path))) {
+            AirportCacheSnapshot.write(out, entries, writtenAt::get, now.plus(Duration.ofHours(1)));
+        }
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.AIRPORTS_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder().expireAfterWrite(Duration.ofHours(1)));
+        AirportService airportService = mock(AirportService.class);
+
+        // When
+        createSnapshot(cacheManager, airportService, path).load();
+
+        // Then
+        Cache cache = cacheManager.getCache(CacheConfig.AIRPORTS_CACHE);
+        assertThat(cache.get(IcaoKey.pack("KBAB"))).isNotNull();
+        assertThat(cache.get(IcaoKey.pack("EGLL"))).isNull();
+        ArgumentCaptor<Duration> age = ArgumentCaptor.forClass(Duration.class);
+        verify(airportService).restoreAge(eq(IcaoKey.pack("KBAB")), age.capture());
+        assertThat(age.getValue()).isBetween(Duration.ofMinutes(30), Duration.ofMinutes(31));
+        verifyNoMoreInteractions(airportService);
+    }
+
+    @Test
+    @DisplayName("Should discard expired snapshots")
+    void read_ExpiredSnapshot_ReturnsNull() throws IOException {
+        // Given
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Instant expiresAt = Instant.parse("2024-01-01T10:00:00Z");
+        Map<Integer, CompactAirport> entries = Map.of(IcaoKey.pack("KBAB"),
+                CompactAirport.of(createAirportDto("KBAB", 100)));
+        AirportCacheSnapshot.write(new DataOutputStream(bytes), entries, key -> expiresAt, expiresAt);
+
+        // When & Then
+        assertThat(AirportCacheSnapshot.read(ByteBuffer.wrap(bytes.toByteArray()), expiresAt.minusSeconds(1)))
+                .containsOnlyKeys("KBAB");
+        assertThat(AirportCacheSnapshot.read(ByteBuffer.wrap(bytes.toByteArray()), expiresAt.plusSeconds(1)))
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("Should leave the cache empty when the snapshot file is corrupt")
+    void load_CorruptSnapshot_LeavesCacheEmpty() throws IOException {
+        // Given
+        Path path = directory.resolve("airports.snapshot");
+        Files.write(path, new byte[] {1, 2, 3});
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.AIRPORTS_CACHE);
+
+        // When
+        createSnapshot(cacheManager, path, Duration.ofHours(1)).load();
+
+        // Then
+        assertThat(cacheManager.getCache(CacheConfig.AIRPORTS_CACHE).get(IcaoKey.pack("KBAB"))).isNull();
+    }
+
+    private AirportCacheSnapshot createSnapshot(CaffeineCacheManager cacheManager, Path path, Duration maxAge) {
+        return new AirportCacheSnapshot(cacheManager, AirportServiceTest.createIndexes(new SimpleMeterRegistry()),
+                mock(AirportService.class), true, path, Duration.ofMinutes(5), maxAge);
+    }
+
+    private AirportCacheSnapshot createSnapshot(CaffeineCacheManager cacheManager, AirportService airportService,
+            Path path) {
+        return new AirportCacheSnapshot(cacheManager, AirportServiceTest.createIndexes(new SimpleMeterRegistry()),
+                airportService, true, path, Duration.ofMinutes(5), Duration.ofHours(1));
+    }
+
+    private AirportDto createAirportDto(String icaoCode, Integer elevation) {
+        return new AirportDto(icaoCode, "TST", "Test Airport " + icaoCode, "Eastern", null,
+                "NY", "New York", "Sample City", "Sample County", "40.7589", "-73.7781", elevation);
+    }
+}
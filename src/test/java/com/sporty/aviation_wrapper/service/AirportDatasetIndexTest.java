@@ -0,0 +1,130 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.sporty.aviation_wrapper.client.ReactiveAviationApiClient;
+import com.sporty.aviation_wrapper.dto.AviationApiResponse;
+import com.sporty.aviation_wrapper.exception.AviationServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Airport Dataset Index Tests")
+class AirportDatasetIndexTest {
+
+    @Mock
+    private ReactiveAviationApiClient aviationApiClient;
+
+    @TempDir
+    private Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should index every airport of a JSON lines dataset by upper-cased ICAO code")
+    void load_JsonLinesDataset_IndexesAirports() throws IOException {
+        // Given
+        Path dataset = writeDataset(List.of(
+                "{\"icao_ident\": \"kbab\", \"faa_ident\": \"BAB\", \"facility_name\": \"Beale AFB\", \"elevation\": 113}",
+                "{\"icao_ident\": \"KJFK\", \"faa_ident\": \"JFK\", \"facility_name\": \"John F Kennedy Intl\"}",
+                "{\"faa_ident\": \"NOIC\"}"));
+        AirportDatasetIndex index = createIndex(dataset, 50);
+
+        // When
+        index.load();
+
+        // Then
+        assertThat(index.get(IcaoKey.pack("KBAB")).facility_name()).isEqualTo("Beale AFB");
+        assertThat(index.get(IcaoKey.pack("KJFK")).iata()).isEqualTo("JFK");
+        assertThat(index.get(IcaoKey.pack("EGLL"))).isNull();
+        assertThat(meterRegistry.get("airport_index_size").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should index every airport of a 20k airport dataset")
+    void load_LargeDataset_IndexesEveryAirport() throws IOException {
+        // Given
+        Path dataset = writeDataset(IntStream.range(0, 20_000)
+                .mapToObj(i -> "{\"icao_ident\": \"%s\", \"faa_ident\": \"%04d\", \"facility_name\": \"Airport %d\","
+                        .formatted(icaoCode(i), i, i)
+                        + " \"state\": \"NY\", \"latitude\": \"40.6\", \"longitude\": \"-73.7\"}")
+                .toList());
+        AirportDatasetIndex index = createIndex(dataset, 50);
+
+        // When
+        index.load();
+
+        // Then
+        assertThat(meterRegistry.get("airport_index_size").gauge().value()).isEqualTo(20_000.0);
+    }
+
+    @Test
+    @DisplayName("Should replace indexed airports that changed upstream during verification")
+    void verifyNextSlice_ChangedAirport_UpdatesIndex() throws IOException {
+        // Given
+        Path dataset = writeDataset(List.of(
+                "{\"icao_ident\": \"KBAB\", \"facility_name\": \"Beale AFB\"}",
+                "{\"icao_ident\": \"KJFK\", \"facility_name\": \"John F Kennedy Intl\"}"));
+        AirportDatasetIndex index = createIndex(dataset, 2);
+        index.load();
+        when(aviationApiClient.getAirportsByIcaoCodes(anyCollection()))
+                .thenReturn(Mono.just(Map.of("KBAB", createApiResponse("KBAB", "Beale Air Force Base"))))
+                .thenReturn(Mono.error(new AviationServiceException("Aviation service temporarily unavailable")));
+
+        // When
+        index.verifyNextSlice();
+        index.verifyNextSlice();
+
+        // Then
+        assertThat(index.get(IcaoKey.pack("KBAB")).facility_name()).isEqualTo("Beale Air Force Base");
+        assertThat(index.get(IcaoKey.pack("KJFK")).facility_name()).isEqualTo("John F Kennedy Intl");
+        assertThat(meterRegistry.get("airport_index_verification_total").tag("outcome", "updated").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("airport_index_verification_total").tag("outcome", "missing").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("airport_index_verification_total").tag("outcome", "failure").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    private static String icaoCode(int i) {
+        char[] letters = new char[4];
+        for (int position = 3; position >= 0; position--) {
+            letters[position] = (char) ('A' + i % 26);
+            i /= 26;
+        }
+        return new String(letters);
+    }
+
+    private AirportDatasetIndex createIndex(Path dataset, int verifyBatchSize) {
+        return new AirportDatasetIndex(aviationApiClient, AirportServiceTest.createIndexes(meterRegistry),
+                meterRegistry, false, dataset, Duration.ofHours(1), verifyBatchSize);
+    }
+
+    private Path writeDataset(List<String> lines) throws IOException {
+        Path dataset = directory.resolve("airports.jsonl");
+        Files.writeString(dataset, lines.stream().collect(Collectors.joining("\n")));
+        return dataset;
+    }
+
+    private AviationApiResponse createApiResponse(String icaoCode, String facilityName) {
+        return new AviationApiResponse(icaoCode, null, facilityName, null, null, null, null, null, null, null, null,
+                null);
+    }
+}
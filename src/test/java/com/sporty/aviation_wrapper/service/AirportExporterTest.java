@@ -0,0 +1,160 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Airport Exporter Tests")
+class AirportExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MeterRegistry meterRegistry;
+    private AirportIndexes indexes;
+    private AirportExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        indexes = AirportServiceTest.createIndexes(meterRegistry);
+        indexes.add(createAirport("KSFO", "San Francisco International", "CA", "AWP"));
+        indexes.add(createAirport("KLAX", "Los Angeles International", "CA", "AWP"));
+        indexes.add(createAirport("KJFK", "John F. Kennedy \"JFK\", International", "NY", "AEA"));
+        exporter = new AirportExporter(indexes, objectMapper, meterRegistry, 2);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON airport per line")
+    void export_Ndjson_WritesOneAirportPerLine() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        int written = exporter.export(null, null, AirportExporter.Format.NDJSON, out);
+
+        // Then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(written).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+        assertThat(lines).extracting(line -> objectMapper.readValue(line, AirportDto.class).icao())
+                .containsExactlyInAnyOrder("KSFO", "KLAX", "KJFK");
+        assertThat(meterRegistry.counter("airport_export_records_total").count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should filter by state and region in ICAO order")
+    void export_StateAndRegionFilter_WritesMatchingAirports() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exporter.export("ca", "AWP", AirportExporter.Format.NDJSON, out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8).lines())
+                .extracting(line -> objectMapper.readValue(line, AirportDto.class).icao())
+                .containsExactly("KLAX", "KSFO");
+    }
+
+    @Test
+    @DisplayName("Should write nothing for filters matching no airport")
+    void export_UnknownRegion_WritesNothing() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        int written = exporter.export("CA", "AEA", AirportExporter.Format.NDJSON, out);
+
+        // Then
+        assertThat(written).isZero();
+        assertThat(out.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and quote values holding separators or quotes")
+    void export_Csv_QuotesValues() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exporter.export("NY", null, AirportExporter.Format.CSV, out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8).lines()).containsExactly(
+                "icao,iata,facility_name,region,district_office,state,state_full,city,county,latitude,longitude,elevation",
+                "KJFK,JFK,\"John F. Kennedy \"\"JFK\"\", International\",AEA,,NY,State,Sample City,Sample County,"
+                        + "40.7589,-73.7781,100");
+    }
+
+    @Test
+    @DisplayName("Should flush the target while exporting and leave it open")
+    void export_FlushEvery_FlushesWithoutClosing() throws IOException {
+        // Given
+        CountingOutputStream out = new CountingOutputStream();
+
+        // When
+        exporter.export(null, null, AirportExporter.Format.NDJSON, out);
+
+        // Then
+        assertThat(out.flushes).isEqualTo(2);
+        assertThat(out.closed).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should flush after every airport when flush-every is below one")
+    void export_ZeroFlushEvery_FlushesEveryAirport() throws IOException {
+        // Given
+        AirportExporter everyAirport = new AirportExporter(indexes, objectMapper, meterRegistry, 0);
+        CountingOutputStream out = new CountingOutputStream();
+
+        // When
+        int written = everyAirport.export(null, null, AirportExporter.Format.NDJSON, out);
+
+        // Then
+        assertThat(written).isEqualTo(3);
+        assertThat(out.flushes).isEqualTo(4);
+        assertThat(out.linesAtFlush).containsExactly(1, 2, 3, 3);
+    }
+
+    private CompactAirport createAirport(String icaoCode, String name, String state, String region) {
+        return CompactAirport.of(new AirportDto(icaoCode, icaoCode.substring(1), name, region, null, state, "State",
+                "Sample City", "Sample County", "40.7589", "-73.7781", 100));
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private final List<Integer> linesAtFlush = new ArrayList<>();
+        private int flushes;
+        private int lines;
+        private boolean closed;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+            linesAtFlush.add(lines);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Airport Search Index Tests")
+class AirportSearchIndexTest {
+
+    private AirportIndexes indexes;
+    private AirportSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        indexes = new AirportIndexes(new SimpleMeterRegistry());
+        index = indexes.search();
+        add(createAirportDto("KJFK", "JFK", "John F Kennedy Intl", "New York"));
+        add(createAirportDto("KLGA", "LGA", "La Guardia", "New York"));
+        add(createAirportDto("KBAB", "BAB", "Beale AFB", "Marysville"));
+        add(createAirportDto("KENW", "ENW", "Kenosha Rgnl", "Kenosha"));
+    }
+
+    @Test
+    @DisplayName("Should rank ident matches before name and city matches")
+    void search_PrefixMatchingSeveralFields_RanksByField() {
+        // When & Then
+        assertThat(index.search("ken", 10)).extracting(AirportDto::icao).containsExactly("KENW", "KJFK");
+        assertThat(index.search("k", 10)).extracting(AirportDto::icao)
+                .startsWith("KBAB", "KENW", "KJFK", "KLGA");
+    }
+
+    @Test
+    @DisplayName("Should match words ignoring case and punctuation")
+    void search_MixedCaseAndPunctuation_MatchesWords() {
+        // When & Then
+        assertThat(index.search("f. KENN", 10)).extracting(AirportDto::icao).containsExactly("KJFK");
+        assertThat(index.search("new y", 10)).extracting(AirportDto::icao).containsExactly("KJFK", "KLGA");
+        assertThat(index.search("lga", 10)).extracting(AirportDto::icao).containsExactly("KLGA");
+        assertThat(index.search("  ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stop at the limit")
+    void search_MoreMatchesThanLimit_ReturnsLimit() {
+        // When & Then
+        assertThat(index.search("k", 2)).extracting(AirportDto::icao).containsExactly("KBAB", "KENW");
+    }
+
+    @Test
+    @DisplayName("Should replace the terms of a re-added airport")
+    void add_RenamedAirport_ReplacesTerms() {
+        // When
+        add(createAirportDto("KLGA", "LGA", "LaGuardia", "Queens"));
+
+        // Then
+        assertThat(index.search("guardia", 10)).isEmpty();
+        assertThat(index.search("queens", 10)).extracting(AirportDto::icao).containsExactly("KLGA");
+        assertThat(index.search("new york", 10)).extracting(AirportDto::icao).containsExactly("KJFK");
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    private void add(AirportDto airport) {
+        indexes.add(CompactAirport.of(airport));
+    }
+
+    private AirportDto createAirportDto(String icaoCode, String faaIdent, String name, String city) {
+        return new AirportDto(icaoCode, faaIdent, name, "Eastern", null, "NY", "New York", city, "Sample County",
+                "40.7589", "-73.7781", 100);
+    }
+}
@@ -0,0 +1,152 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import com.sporty.aviation_wrapper.dto.AirportPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Airport Secondary Index Tests")
+class AirportSecondaryIndexTest {
+
+    private AirportIndexes indexes;
+    private AirportSecondaryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        indexes = new AirportIndexes(new SimpleMeterRegistry());
+        index = indexes.secondary();
+        add(createAirportDto("KSFO", "SFO", "CA", "AWP"));
+        add(createAirportDto("KLAX", "LAX", "CA", "AWP"));
+        add(createAirportDto("KSAN", "SAN", "CA", "AWP"));
+        add(createAirportDto("KBAB", "BAB", "CA", "AWP"));
+        add(createAirportDto("KJFK", "JFK", "NY", "AEA"));
+    }
+
+    @Test
+    @DisplayName("Should look up airports by FAA ident ignoring case")
+    void getByFaaIdent_KnownIdent_ReturnsAirport() {
+        // When & Then
+        assertThat(index.getByFaaIdent("lax").icao()).isEqualTo("KLAX");
+        assertThat(index.getByFaaIdent("ORD")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should page through a state in ICAO order with a cursor")
+    void findByState_SeveralPages_FollowsCursor() {
+        // When
+        AirportPage first = index.findByState("ca", null, 3);
+        AirportPage second = index.findByState("CA", first.nextCursor(), 3);
+
+        // Then
+        assertThat(first.airports()).extracting(AirportDto::icao).containsExactly("KBAB", "KLAX", "KSAN");
+        assertThat(first.nextCursor()).isEqualTo("KSAN");
+        assertThat(second.airports()).extracting(AirportDto::icao).containsExactly("KSFO");
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should move re-added airports between states, regions and idents")
+    void add_ChangedAttributes_MovesAirport() {
+        // When
+        add(createAirportDto("KBAB", "BAF", "NV", "AWP"));
+
+        // Then
+        assertThat(index.findByState("CA", null, 10).airports()).extracting(AirportDto::icao)
+                .containsExactly("KLAX", "KSAN", "KSFO");
+        assertThat(index.findByState("NV", null, 10).airports()).extracting(AirportDto::icao)
+                .containsExactly("KBAB");
+        assertThat(index.findByRegion("AWP", null, 10).airports()).hasSize(4);
+        assertThat(index.getByFaaIdent("BAB")).isNull();
+        assertThat(index.getByFaaIdent("BAF").icao()).isEqualTo("KBAB");
+    }
+
+    @Test
+    @DisplayName("Should return an empty last page for unknown regions")
+    void findByRegion_UnknownRegion_ReturnsEmptyPage() {
+        // When
+        AirportPage page = index.findByRegion("ZZZ", null, 10);
+
+        // Then
+        assertThat(page.airports()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should stream airports matching both the state and the region")
+    void stream_StateAndRegion_StreamsIntersection() {
+        // Given
+        add(createAirportDto("KRNO", "RNO", "NV", "AWP"));
+
+        // When & Then
+        assertThat(index.stream("CA", "awp")).extracting(airport -> airport.toDto().icao())
+                .containsExactly("KBAB", "KLAX", "KSAN", "KSFO");
+        assertThat(index.stream(null, "AWP")).hasSize(5);
+        assertThat(index.stream(null, null)).hasSize(6);
+        assertThat(index.stream("NY", "AWP")).isEmpty();
+        assertThat(index.stream("TX", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should only advance the last modification time when an airport changes")
+    void add_UnchangedAirport_KeepsLastModified() {
+        // Given
+        Instant lastModified = indexes.lastModified();
+
+        // When
+        add(createAirportDto("KJFK", "JFK", "NY", "AEA"));
+
+        // Then
+        assertThat(lastModified).isAfter(Instant.EPOCH);
+        assertThat(indexes.lastModified()).isEqualTo(lastModified);
+    }
+
+    @Test
+    @DisplayName("Should drop a removed airport from every index")
+    void remove_IndexedAirport_LeavesAllIndexes() {
+        // Given
+        CompactAirport airport = CompactAirport.of(createAirportDto("KRNO", "RNO", "NV", "AWP"));
+        indexes.add(airport);
+
+        // When
+        indexes.remove(airport);
+
+        // Then
+        assertThat(index.getByFaaIdent("RNO")).isNull();
+        assertThat(index.findByState("NV", null, 10).airports()).isEmpty();
+        assertThat(indexes.search().search("KRNO", 10)).isEmpty();
+        assertThat(indexes.spatial().findNearest(40.7589, -73.7781, 10)).extracting(nearby -> nearby.airport().icao())
+                .doesNotContain("KRNO");
+        assertThat(indexes.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should keep an airport whose removed entry was already replaced")
+    void remove_ReplacedEntry_KeepsNewerEntry() {
+        // Given
+        CompactAirport stale = CompactAirport.of(createAirportDto("KRNO", "RNO", "NV", "AWP"));
+        indexes.add(stale);
+        add(createAirportDto("KRNO", "RNO", "NV", "AWP"));
+
+        // When
+        indexes.remove(stale);
+
+        // Then
+        assertThat(index.getByFaaIdent("RNO").icao()).isEqualTo("KRNO");
+        assertThat(indexes.size()).isEqualTo(6);
+    }
+
+    private void add(AirportDto airport) {
+        indexes.add(CompactAirport.of(airport));
+    }
+
+    private AirportDto createAirportDto(String icaoCode, String faaIdent, String state, String region) {
+        return new AirportDto(icaoCode, faaIdent, "Test Airport " + icaoCode, region, null, state, "State",
+                "Sample City", "Sample County", "40.7589", "-73.7781", 100);
+    }
+}
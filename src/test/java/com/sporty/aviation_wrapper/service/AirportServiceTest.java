@@ -0,0 +1,262 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.sporty.aviation_wrapper.client.AviationApiBatchCollector;
+import com.sporty.aviation_wrapper.client.ReactiveAviationApiClient;
+import com.sporty.aviation_wrapper.config.CacheConfig;
+import com.sporty.aviation_wrapper.dto.AirportBatchResponse;
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import com.sporty.aviation_wrapper.dto.AviationApiResponse;
+import com.sporty.aviation_wrapper.exception.AirportNotFoundException;
+import com.sporty.aviation_wrapper.exception.AviationServiceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Airport Service Tests")
+class AirportServiceTest {
+
+    @Mock
+    private ReactiveAviationApiClient aviationApiClient;
+
+    private CacheManager cacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private AirportService airportService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.AIRPORTS_CACHE,
+                CacheConfig.AIRPORTS_NOT_FOUND_CACHE);
+        meterRegistry = new SimpleMeterRegistry();
+        AviationApiBatchCollector batchCollector = new AviationApiBatchCollector(aviationApiClient,
+                meterRegistry, false, Duration.ofMillis(5), 50);
+        AirportIndexes indexes = createIndexes(meterRegistry);
+        AirportDatasetIndex datasetIndex = new AirportDatasetIndex(aviationApiClient, indexes, meterRegistry,
+                false, Path.of("airports.jsonl"), Duration.ZERO, 50);
+        airportService = new AirportService(aviationApiClient, batchCollector, datasetIndex, indexes,
+                cacheManager, meterRegistry, 2, Duration.ZERO, 4);
+    }
+
+    @Test
+    @DisplayName("Should serve cached codes locally and fetch only misses in chunks")
+    void getAirportsByIcao_MixedHitsAndMisses_FetchesMissesInChunks() {
+        // Given
+        cacheAirport("KBAB");
+        when(aviationApiClient.getAirportsByIcaoCodes(List.of("EGLL", "KJFK")))
+                .thenReturn(Mono.just(Map.of("EGLL", createApiResponse("EGLL"), "KJFK", createApiResponse("KJFK"))));
+        when(aviationApiClient.getAirportsByIcaoCodes(List.of("LFPG")))
+                .thenReturn(Mono.just(Map.of("LFPG", createApiResponse("LFPG"))));
+
+        // When
+        AirportBatchResponse response = airportService.getAirportsByIcao(List.of("kbab", "EGLL", "KJFK", "LFPG")).join();
+
+        // Then
+        assertThat(response.airports()).containsOnlyKeys("KBAB", "EGLL", "KJFK", "LFPG");
+        assertThat(response.errors()).isEmpty();
+        assertThat(cacheManager.getCache(CacheConfig.AIRPORTS_CACHE).get(IcaoKey.pack("lfpg"))).isNotNull();
+        verify(aviationApiClient, times(2)).getAirportsByIcaoCodes(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should report invalid, unknown and failed codes per code")
+    void getAirportsByIcao_FailuresPerCode_ReportsErrors() {
+        // Given
+        when(aviationApiClient.getAirportsByIcaoCodes(List.of("KBAB", "XXXX")))
+                .thenReturn(Mono.just(Map.of("KBAB", createApiResponse("KBAB"))));
+        when(aviationApiClient.getAirportsByIcaoCodes(List.of("EGLL")))
+                .thenReturn(Mono.error(new AviationServiceException("Aviation service temporarily unavailable. Please try again later.")));
+
+        // When
+        AirportBatchResponse response = airportService.getAirportsByIcao(List.of("KBAB", "XXXX", "EGLL", "K1")).join();
+
+        // Then
+        assertThat(response.airports()).containsOnlyKeys("KBAB");
+        assertThat(response.errors().get("XXXX").status()).isEqualTo(404);
+        assertThat(response.errors().get("EGLL").status()).isEqualTo(503);
+        assertThat(response.errors().get("K1").status()).isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("Should fetch one code per chunk when the batch size is below one")
+    void getAirportsByIcao_ZeroBatchSize_FetchesSingleCodeChunks() {
+        // Given
+        airportService = new AirportService(aviationApiClient, mock(AviationApiBatchCollector.class),
+                mock(AirportDatasetIndex.class), createIndexes(meterRegistry), cacheManager, meterRegistry, 0,
+                Duration.ZERO, 4);
+        when(aviationApiClient.getAirportsByIcaoCodes(anyCollection()))
+                .thenReturn(Mono.just(Map.of("KBAB", createApiResponse("KBAB"))))
+                .thenReturn(Mono.just(Map.of("EGLL", createApiResponse("EGLL"))));
+
+        // When
+        AirportBatchResponse response = airportService.getAirportsByIcao(List.of("KBAB", "EGLL")).join();
+
+        // Then
+        assertThat(response.airports()).containsOnlyKeys("KBAB", "EGLL");
+        verify(aviationApiClient, times(2)).getAirportsByIcaoCodes(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should not call upstream when every code is cached")
+    void getAirportsByIcao_AllCached_DoesNotCallUpstream() {
+        // Given
+        cacheAirport("KBAB");
+
+        // When
+        AirportBatchResponse response = airportService.getAirportsByIcao(List.of("KBAB", "KBAB")).join();
+
+        // Then
+        assertThat(response.airports()).containsOnlyKeys("KBAB");
+        verifyNoInteractions(aviationApiClient);
+    }
+
+    @Test
+    @DisplayName("Should look up single airport with normalized ICAO code")
+    void getAirportByIcao_LowercaseCode_FetchesUppercaseCode() {
+        // Given
+        when(aviationApiClient.getAirportsByIcao("KBAB")).thenReturn(Mono.just(createApiResponse("KBAB")));
+
+        // When
+        AirportDto airport = airportService.getAirportByIcao("kbab").join();
+
+        // Then
+        assertThat(airport.icao()).isEqualTo("KBAB");
+    }
+
+    @Test
+    @DisplayName("Should throw AirportNotFoundException when upstream has no data")
+    void getAirportByIcao_UnknownCode_ThrowsAirportNotFoundException() {
+        // Given
+        when(aviationApiClient.getAirportsByIcao("XXXX")).thenReturn(Mono.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> airportService.getAirportByIcao("XXXX").join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(AirportNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should answer recently unknown codes from the negative cache without calling upstream")
+    void getAirportByIcao_UnknownCodeTwice_CallsUpstreamOnce() {
+        // Given
+        when(aviationApiClient.getAirportsByIcao("XXXX")).thenReturn(Mono.empty());
+        assertThatThrownBy(() -> airportService.getAirportByIcao("XXXX").join())
+                .hasCauseInstanceOf(AirportNotFoundException.class);
+
+        // When & Then
+        assertThatThrownBy(() -> airportService.getAirportByIcao("xxxx").join())
+                .hasCauseInstanceOf(AirportNotFoundException.class);
+        AirportBatchResponse response = airportService.getAirportsByIcao(List.of("XXXX")).join();
+        assertThat(response.errors().get("XXXX").status()).isEqualTo(404);
+        verify(aviationApiClient, times(1)).getAirportsByIcao("XXXX");
+        verify(aviationApiClient, never()).getAirportsByIcaoCodes(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should answer cached airport without calling upstream")
+    void getAirportByIcao_CachedCode_CompletesImmediately() {
+        // Given
+        cacheAirport("KBAB");
+
+        // When
+        var result = airportService.getAirportByIcao("KbAb");
+
+        // Then
+        assertThat(result).isCompleted();
+        assertThat(result.join().icao()).isEqualTo("KBAB");
+        verifyNoInteractions(aviationApiClient);
+    }
+
+    @Test
+    @DisplayName("Should find airports by position once they were loaded into the cache")
+    void findNearestAirports_LoadedAirport_IsIndexed() {
+        // Given
+        when(aviationApiClient.getAirportsByIcao("KBAB")).thenReturn(Mono.just(createApiResponse("KBAB")));
+        airportService.getAirportByIcao("KBAB").join();
+
+        // When
+        var nearest = airportService.findNearestAirports(40.75, -73.77, 5);
+
+        // Then
+        assertThat(nearest).hasSize(1);
+        assertThat(nearest.get(0).airport().icao()).isEqualTo("KBAB");
+        assertThat(nearest.get(0).distanceKm()).isLessThan(2.0);
+    }
+
+    @Test
+    @DisplayName("Should look up loaded airports by FAA ident and fail for unknown idents")
+    void getAirportByFaaIdent_LoadedAirport_ReturnsAirport() {
+        // Given
+        when(aviationApiClient.getAirportsByIcao("KBAB")).thenReturn(Mono.just(createApiResponse("KBAB")));
+        airportService.getAirportByIcao("KBAB").join();
+
+        // When & Then
+        assertThat(airportService.getAirportByFaaIdent("tst").icao()).isEqualTo("KBAB");
+        assertThatThrownBy(() -> airportService.getAirportByFaaIdent("ZZZ"))
+                .isInstanceOf(AirportNotFoundException.class)
+                .hasMessageContaining("FAA ident 'ZZZ'");
+    }
+
+    @Test
+    @DisplayName("Should time lookups and their local probe by outcome")
+    void getAirportByIcao_HitMissAndNotFound_RecordsStageTimers() {
+        // Given
+        cacheAirport("KBAB");
+        when(aviationApiClient.getAirportsByIcao("KJFK")).thenReturn(Mono.just(createApiResponse("KJFK")));
+        when(aviationApiClient.getAirportsByIcao("XXXX")).thenReturn(Mono.empty());
+
+        // When
+        airportService.getAirportByIcao("KBAB").join();
+        airportService.getAirportByIcao("KJFK").join();
+        assertThatThrownBy(() -> airportService.getAirportByIcao("XXXX").join());
+        assertThatThrownBy(() -> airportService.getAirportByIcao("XXXX").join());
+
+        // Then
+        assertThat(stageCount("airport_request", "hit")).isEqualTo(1);
+        assertThat(stageCount("airport_request", "miss")).isEqualTo(1);
+        assertThat(stageCount("airport_request", "not_found")).isEqualTo(2);
+        assertThat(stageCount("airport_cache_lookup", "hit")).isEqualTo(1);
+        assertThat(stageCount("airport_cache_lookup", "miss")).isEqualTo(2);
+        assertThat(stageCount("airport_cache_lookup", "not_found")).isEqualTo(1);
+    }
+
+    private long stageCount(String name, String outcome) {
+        return meterRegistry.get(name).tag("outcome", outcome).timer().count();
+    }
+
+    static AirportIndexes createIndexes(MeterRegistry meterRegistry) {
+        return new AirportIndexes(meterRegistry);
+    }
+
+    private void cacheAirport(String icaoCode) {
+        cacheManager.getCache(CacheConfig.AIRPORTS_CACHE)
+                .put(IcaoKey.pack(icaoCode), CompactAirport.of(createAirportDto(icaoCode)));
+    }
+
+    private AirportDto createAirportDto(String icaoCode) {
+        return createApiResponse(icaoCode).toDto();
+    }
+
+    private AviationApiResponse createApiResponse(String icaoCode) {
+        return new AviationApiResponse(icaoCode, "TST", "Test Airport " + icaoCode, "Eastern", "New York ADO",
+                "NY", "New York", "Sample City", "Sample County", "40.7589", "-73.7781", 100);
+    }
+}
@@ -0,0 +1,100 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import com.sporty.aviation_wrapper.dto.NearbyAirport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Airport Spatial Index Tests")
+class AirportSpatialIndexTest {
+
+    private AirportIndexes indexes;
+    private AirportSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        indexes = new AirportIndexes(new SimpleMeterRegistry());
+        index = indexes.spatial();
+        add(createAirportDto("KJFK", "40.6398", "-73.7789"));
+        add(createAirportDto("KLGA", "40.7772", "-73.8726"));
+        add(createAirportDto("KEWR", "40.6925", "-74.1687"));
+        add(createAirportDto("KBOS", "42.3656", "-71.0096"));
+        add(createAirportDto("EGLL", "51.4700", "-0.4543"));
+    }
+
+    @Test
+    @DisplayName("Should return airports inside the radius ordered by distance")
+    void findWithinRadius_NewYork_ReturnsCityAirportsNearestFirst() {
+        // When
+        List<NearbyAirport> found = index.findWithinRadius(40.7128, -74.0060, 50, 10);
+
+        // Then
+        assertThat(found).extracting(nearby -> nearby.airport().icao()).containsExactly("KLGA", "KEWR", "KJFK");
+        assertThat(found.get(0).distanceKm()).isCloseTo(13.3, within(0.5));
+    }
+
+    @Test
+    @DisplayName("Should widen the search until k airports are found")
+    void findNearest_MoreThanNearbyAirports_WidensSearch() {
+        // When
+        List<NearbyAirport> found = index.findNearest(40.7128, -74.0060, 4);
+
+        // Then
+        assertThat(found).extracting(nearby -> nearby.airport().icao())
+                .containsExactly("KLGA", "KEWR", "KJFK", "KBOS");
+    }
+
+    @Test
+    @DisplayName("Should search across the antimeridian")
+    void findWithinRadius_AcrossAntimeridian_FindsAirport() {
+        // Given
+        add(createAirportDto("NFFN", "-17.7554", "177.4434"));
+
+        // When
+        List<NearbyAirport> found = index.findWithinRadius(-17.7, -179.9, 400, 10);
+
+        // Then
+        assertThat(found).extracting(nearby -> nearby.airport().icao()).containsExactly("NFFN");
+    }
+
+    @Test
+    @DisplayName("Should move re-added airports and parse degree-minute-second coordinates")
+    void add_UpdatedPosition_MovesAirport() {
+        // When
+        add(createAirportDto("KJFK", "51-28-12.0000N", "000-27-15.4800W"));
+
+        // Then
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.findWithinRadius(40.7128, -74.0060, 50, 10))
+                .extracting(nearby -> nearby.airport().icao()).containsExactly("KLGA", "KEWR");
+        assertThat(index.findWithinRadius(51.47, -0.45, 1, 10))
+                .extracting(nearby -> nearby.airport().icao()).containsExactlyInAnyOrder("EGLL", "KJFK");
+    }
+
+    @Test
+    @DisplayName("Should ignore airports without usable coordinates")
+    void add_MissingCoordinates_IsIgnored() {
+        // When
+        add(createAirportDto("KXXX", null, "-73.0"));
+        add(createAirportDto("KYYY", "not a latitude", "-73.0"));
+
+        // Then
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    private void add(AirportDto airport) {
+        indexes.add(CompactAirport.of(airport));
+    }
+
+    private AirportDto createAirportDto(String icaoCode, String latitude, String longitude) {
+        return new AirportDto(icaoCode, "TST", "Test Airport " + icaoCode, "Eastern", null,
+                "NY", "New York", "Sample City", "Sample County", latitude, longitude, 100);
+    }
+}
@@ -0,0 +1,130 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Cache Refresher Tests")
+class CacheRefresherTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private MeterRegistry meterRegistry;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        Ticker ticker = nanos::get;
+        cache = new CaffeineCache("airports", Caffeine.newBuilder()
+                .expireAfterWrite(1, TimeUnit.HOURS)
+                .ticker(ticker)
+                .build());
+        cache.put("KBAB", "airport");
+    }
+
+    @Test
+    @DisplayName("Should not reload entries younger than the soft TTL")
+    void refreshIfStale_FreshEntry_DoesNotReload() {
+        // Given
+        CacheRefresher<String> refresher = createRefresher(Duration.ofMinutes(15), 1);
+        AtomicInteger loads = new AtomicInteger();
+        advance(Duration.ofMinutes(10));
+
+        // When
+        refresher.refreshIfStale("KBAB", () -> CompletableFuture.completedFuture(loads.incrementAndGet()));
+
+        // Then
+        assertThat(loads).hasValue(0);
+        assertThat(meterRegistry.get("airport_cache_stale_age").timer().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reload a stale entry once while its refresh is in flight")
+    void refreshIfStale_StaleEntry_ReloadsOnce() {
+        // Given
+        CacheRefresher<String> refresher = createRefresher(Duration.ofMinutes(15), 4);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> reload = new CompletableFuture<>();
+        advance(Duration.ofMinutes(20));
+
+        // When
+        refresher.refreshIfStale("KBAB", () -> {
+            loads.incrementAndGet();
+            return reload;
+        });
+        refresher.refreshIfStale("KBAB", () -> {
+            loads.incrementAndGet();
+            return reload;
+        });
+        reload.complete("airport");
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("airport_cache_refresh_total").tag("outcome", "success").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("airport_cache_stale_age").timer().max(TimeUnit.MINUTES)).isEqualTo(20.0);
+    }
+
+    @Test
+    @DisplayName("Should reject refreshes beyond the concurrency limit and count failures")
+    void refreshIfStale_ConcurrencyLimitAndFailure_RecordsOutcomes() {
+        // Given
+        CacheRefresher<String> refresher = createRefresher(Duration.ofMinutes(15), 1);
+        cache.put("KJFK", "airport");
+        CompletableFuture<String> reload = new CompletableFuture<>();
+        advance(Duration.ofMinutes(20));
+
+        // When
+        refresher.refreshIfStale("KBAB", () -> reload);
+        refresher.refreshIfStale("KJFK", () -> CompletableFuture.completedFuture("airport"));
+        reload.completeExceptionally(new IllegalStateException("upstream down"));
+
+        // Then
+        assertThat(meterRegistry.get("airport_cache_refresh_total").tag("outcome", "rejected").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("airport_cache_refresh_total").tag("outcome", "failure").counter().count())
+                .isEqualTo(1.0);
+        assertThat(cache.get("KBAB", String.class)).isEqualTo("airport");
+    }
+
+    @Test
+    @DisplayName("Should count the restored age of an entry until it is written again")
+    void refreshIfStale_RestoredAge_ReloadsUntilWritten() {
+        // Given
+        CacheRefresher<String> refresher = createRefresher(Duration.ofMinutes(15), 1);
+        AtomicInteger loads = new AtomicInteger();
+        refresher.restoreAge("KBAB", Duration.ofMinutes(10));
+        advance(Duration.ofMinutes(6));
+
+        // When
+        refresher.refreshIfStale("KBAB", () -> CompletableFuture.completedFuture(loads.incrementAndGet()));
+        refresher.written("KBAB");
+        refresher.refreshIfStale("KBAB", () -> CompletableFuture.completedFuture(loads.incrementAndGet()));
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("airport_cache_stale_age").timer().max(TimeUnit.MINUTES)).isEqualTo(16.0);
+    }
+
+    private CacheRefresher<String> createRefresher(Duration softTtl, int maxConcurrency) {
+        return new CacheRefresher<>("airport_cache", cache, softTtl, maxConcurrency, meterRegistry);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
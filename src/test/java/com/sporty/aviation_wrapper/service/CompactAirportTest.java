@@ -0,0 +1,107 @@
+package com.sporty.aviation_wrapper.service;
+
+import com.sporty.aviation_wrapper.dto.AirportDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Compact Airport Tests")
+class CompactAirportTest {
+
+    @Test
+    @DisplayName("Should materialize the same airport that was stored")
+    void toDto_DecimalCoordinates_RoundTrips() {
+        // Given
+        AirportDto airport = new AirportDto("KBAB", "BAB", "Beale Air Force Base", "Western", "Los Angeles ADO",
+                "CA", "California", "Marysville", "Yuba County", "39.1361", "-121.4367", 113);
+
+        // When & Then
+        assertThat(CompactAirport.of(airport).toDto()).isEqualTo(airport);
+    }
+
+    @Test
+    @DisplayName("Should store upstream degree-minute-second coordinates as doubles and print them back unchanged")
+    void toDto_DegreeMinuteSecondCoordinates_RoundTrips() {
+        // Given
+        AirportDto airport = new AirportDto("KBAB", "BAB", "Beale Air Force Base", "Western", "Los Angeles ADO",
+                "CA", "California", "Marysville", "Yuba County", "39-08-10.9000N", "121-26-12.0000W", 113);
+
+        // When
+        CompactAirport compact = CompactAirport.of(airport);
+
+        // Then
+        assertThat(compact.toDto()).isEqualTo(airport);
+        assertThat(compact.position().latitude()).isCloseTo(39.1364, within(1e-4));
+        assertThat(compact.position().longitude()).isCloseTo(-121.4367, within(1e-4));
+        assertThat(compact.retainedSize(16, 40)).isEqualTo(CompactAirport.of(new AirportDto("KBAB", "BAB",
+                "Beale Air Force Base", "Western", "Los Angeles ADO", "CA", "California", "Marysville",
+                "Yuba County", "39.1364", "-121.4367", 113)).retainedSize(16, 40));
+    }
+
+    @Test
+    @DisplayName("Should print zero coordinates back with their hemisphere and fraction digits")
+    void toDto_ZeroCoordinates_RoundTrips() {
+        // Given
+        AirportDto decimal = new AirportDto("FZZA", null, "Equator", null, null, null, null, null, null,
+                "0.0000", "-0.5", null);
+        AirportDto dms = new AirportDto("FZZB", null, "Prime Meridian", null, null, null, null, null, null,
+                "00-00-00.0000S", "000-00-59.9999W", null);
+
+        // When & Then
+        assertThat(CompactAirport.of(decimal).toDto()).isEqualTo(decimal);
+        assertThat(CompactAirport.of(dms).toDto()).isEqualTo(dms);
+    }
+
+    @Test
+    @DisplayName("Should keep coordinates the format cannot rebuild and missing fields as they were")
+    void toDto_TextCoordinatesAndNulls_RoundTrips() {
+        // Given
+        AirportDto airport = new AirportDto("KJFK", null, "John F Kennedy Intl", null, null,
+                "NY", "New York", null, null, "40-38-23.7400n", "+073.77", null);
+        AirportDto unparseable = new AirportDto("KXXX", null, "Unknown", null, null, null, null, null, null,
+                "north", null, null);
+
+        // When & Then
+        assertThat(CompactAirport.of(airport).toDto()).isEqualTo(airport);
+        assertThat(CompactAirport.of(airport).position()).isNotNull();
+        assertThat(CompactAirport.of(unparseable).toDto()).isEqualTo(unparseable);
+        assertThat(CompactAirport.of(unparseable).position()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should give equal airports the same strong ETag and changed airports another one")
+    void etag_SameAndChangedContent_ComparesByContent() {
+        // Given
+        AirportDto airport = new AirportDto("KBAB", "BAB", "Beale Air Force Base", "Western", "Los Angeles ADO",
+                "CA", "California", "Marysville", "Yuba County", "39.1361", "-121.4367", 113);
+        AirportDto moved = new AirportDto("KBAB", "BAB", "Beale Air Force Base", "Western", "Los Angeles ADO",
+                "CA", "California", "Marysville", "Yuba County", "39.1361", "-121.4367", 114);
+
+        // When & Then
+        assertThat(CompactAirport.of(airport).etag())
+                .isEqualTo(CompactAirport.of(airport).etag())
+                .isNotEqualTo(CompactAirport.of(moved).etag())
+                .startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    @DisplayName("Should share one instance of each low cardinality value between airports")
+    void toDto_SameCategories_SharesStrings() {
+        // Given
+        AirportDto first = new AirportDto("KBAB", "BAB", "Beale Air Force Base", "Western", "Los Angeles ADO",
+                "CA", "California", "Marysville", "Yuba County", "39.1361", "-121.4367", 113);
+        AirportDto second = new AirportDto("KMYV", "MYV", "Yuba County", new String("Western"), new String("Los Angeles ADO"),
+                "CA", "California", new String("Marysville"), "Yuba County", "39.0978", "-121.5698", 64);
+
+        // When
+        AirportDto firstRead = CompactAirport.of(first).toDto();
+        AirportDto secondRead = CompactAirport.of(second).toDto();
+
+        // Then
+        assertThat(secondRead.region()).isSameAs(firstRead.region());
+        assertThat(secondRead.district_office()).isSameAs(firstRead.district_office());
+        assertThat(secondRead.city()).isEqualTo(firstRead.city());
+    }
+}
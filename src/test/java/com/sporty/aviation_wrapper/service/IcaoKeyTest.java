@@ -0,0 +1,42 @@
+package com.sporty.aviation_wrapper.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ICAO Key Tests")
+class IcaoKeyTest {
+
+    @Test
+    @DisplayName("Should pack every spelling of a code to the same key")
+    void pack_MixedCase_SameKey() {
+        // When
+        int key = IcaoKey.pack("KBAB");
+
+        // Then
+        assertThat(IcaoKey.pack("kbab")).isEqualTo(key);
+        assertThat(IcaoKey.pack("KbAb")).isEqualTo(key);
+        assertThat(IcaoKey.pack("KBAC")).isNotEqualTo(key);
+        assertThat(IcaoKey.unpack(key)).isEqualTo("KBAB");
+    }
+
+    @Test
+    @DisplayName("Should unpack the canonical upper-case code for the whole key range")
+    void unpack_AllCodes_RoundTrips() {
+        assertThat(IcaoKey.unpack(IcaoKey.pack("AAAA"))).isEqualTo("AAAA");
+        assertThat(IcaoKey.unpack(IcaoKey.pack("zzzz"))).isEqualTo("ZZZZ");
+        assertThat(IcaoKey.pack("AAAA")).isZero();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"KBA", "KBABB", "K1AB", "KB@B", "KB[B", "KB`B", "KB{B", "KBÄB"})
+    @DisplayName("Should reject anything but four ASCII letters")
+    void pack_InvalidCode_ReturnsInvalid(String icaoCode) {
+        assertThat(IcaoKey.pack(icaoCode)).isEqualTo(IcaoKey.INVALID);
+    }
+}
@@ -0,0 +1,105 @@
+package com.sporty.aviation_wrapper.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Request Coalescer Tests")
+class RequestCoalescerTest {
+
+    private MeterRegistry meterRegistry;
+    private RequestCoalescer<String, String> coalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer<>("test_load", meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight load between concurrent callers")
+    void execute_ConcurrentCallersSameKey_LoadsOnce() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        // When
+        CompletableFuture<String> first = coalescer.execute("KBAB", () -> {
+            loads.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = coalescer.execute("KBAB", () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        upstream.complete("airport");
+
+        // Then
+        assertThat(first.join()).isEqualTo("airport");
+        assertThat(second.join()).isEqualTo("airport");
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("test_load_coalesced_total").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should propagate the load failure to every waiting caller")
+    void execute_LoadFails_AllCallersFail() {
+        // Given
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> first = coalescer.execute("KBAB", () -> upstream);
+        CompletableFuture<String> second = coalescer.execute("KBAB", () -> upstream);
+
+        // When
+        upstream.completeExceptionally(new IllegalStateException("upstream down"));
+
+        // Then
+        assertThatThrownBy(first::join).isInstanceOf(CompletionException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(second::join).isInstanceOf(CompletionException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should start a new load once the previous one has completed")
+    void execute_AfterCompletion_LoadsAgain() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        coalescer.execute("KBAB", () -> CompletableFuture.completedFuture("v" + loads.incrementAndGet())).join();
+        String result = coalescer.execute("KBAB",
+                () -> CompletableFuture.completedFuture("v" + loads.incrementAndGet())).join();
+
+        // Then
+        assertThat(result).isEqualTo("v2");
+        assertThat(meterRegistry.get("test_load_in_flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not coalesce loads for different keys")
+    void execute_DifferentKeys_LoadsEach() {
+        // Given
+        CompletableFuture<String> kbab = new CompletableFuture<>();
+        CompletableFuture<String> egll = new CompletableFuture<>();
+
+        // When
+        CompletableFuture<String> first = coalescer.execute("KBAB", () -> kbab);
+        CompletableFuture<String> second = coalescer.execute("EGLL", () -> egll);
+        kbab.complete("kbab");
+        egll.complete("egll");
+
+        // Then
+        assertThat(first.join()).isEqualTo("kbab");
+        assertThat(second.join()).isEqualTo("egll");
+        assertThat(meterRegistry.get("test_load_coalesced_total").counter().count()).isZero();
+    }
+}